@@ -0,0 +1,301 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse ArrayCache
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Binaere Zwischendatei fuer readArrayCached()/readSequenceCached()
+ * 2026-10-18 Temporaere Datei mit eindeutigem Namen (mehrere Prozesse)
+ * ==================================================================
+ */
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+
+/**
+ * Zwischenspeicher f&uuml;r wiederholt gelesene Zahlendateien.
+ * <p>
+ * Nach dem ersten Lesen einer Textdatei wird neben der Datei eine bin&auml;re
+ * Zwischendatei (Endung <tt>.jcache</tt>) mit den gelesenen Werten abgelegt.
+ * Bei jedem weiteren Lesen wird stattdessen die Zwischendatei in den Speicher
+ * eingeblendet, solange sie noch zur Textdatei passt.
+ * <p>
+ * Aufbau der Zwischendatei (little endian):
+ * <pre>
+ *     int    MAGIC, VERSION, Art (1: Array, 2: Sequenz)
+ *     long   lastModified() und length() der Textdatei
+ *     int    Laenge der Trennzeichen (UTF-8), danach die Bytes
+ *     int    Zeilenanzahl, Spaltenanzahl
+ *     ...    Fuellbytes bis zur naechsten durch 8 teilbaren Position
+ *     double Alle Werte, zeilenweise
+ * </pre>
+ * Die Zwischendatei ist ung&uuml;ltig, sobald sich Zeitstempel oder
+ * Gr&ouml;&szlig;e der Textdatei oder die Trennzeichen unterscheiden. Sie wird
+ * dann beim Lesen neu geschrieben. Kann sie nicht geschrieben werden (z.B.
+ * fehlende Schreibrechte), wird nur die Textdatei gelesen.
+ */
+final class ArrayCache
+{
+    static final int MAGIC = 0x4A434143; // "JCAC"
+    static final int VERSION = 1;
+    static final int ARRAY = 1;
+    static final int SEQUENCE = 2;
+    static final String SUFFIX = ".jcache";
+
+    private ArrayCache() { }
+
+    /**
+     * Wie ArrayLoader.readArray(), jedoch &uuml;ber die Zwischendatei.
+     *
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim Zeichenkette mit allen Trennzeichen.
+     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    static double[][] readArray(String filename, String delim) throws IOException
+    {
+        File source = new File(filename);
+        long modified = source.lastModified();
+        long length = source.length();
+        File cache = new File(filename + SUFFIX);
+
+        ByteBuffer bb = map(cache, ARRAY, modified, length, delim);
+        if (bb != null) {
+            int n = bb.getInt();
+            int m = bb.getInt();
+            DoubleBuffer db = align(bb).asDoubleBuffer();
+            double[][] a = new double[n][m];
+            for (int i = 0; i < n; i++) {
+                db.get(a[i]);
+            }
+            return n > 0 ? a : null;
+        }
+
+        double[][] a = ArrayLoader.readArray(filename, delim);
+        if (source.lastModified() == modified && source.length() == length) {
+            int n = a == null ? 0 : a.length;
+            int m = a == null ? 0 : a[0].length;
+            try (CacheWriter w = new CacheWriter(cache, ARRAY, modified, length, delim, n, m)) {
+                for (int i = 0; i < n; i++) {
+                    w.put(a[i]);
+                }
+                w.commit();
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Wie ArrayLoader.readSequence(), jedoch &uuml;ber die Zwischendatei.
+     *
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim Zeichenkette mit allen Trennzeichen.
+     * @return Das eindimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    static double[] readSequence(String filename, String delim) throws IOException
+    {
+        File source = new File(filename);
+        long modified = source.lastModified();
+        long length = source.length();
+        File cache = new File(filename + SUFFIX);
+
+        ByteBuffer bb = map(cache, SEQUENCE, modified, length, delim);
+        if (bb != null) {
+            int n = bb.getInt();
+            bb.getInt();
+            double[] a = new double[n];
+            align(bb).asDoubleBuffer().get(a);
+            return n > 0 ? a : null;
+        }
+
+        double[] a = ArrayLoader.readSequence(filename, delim);
+        if (source.lastModified() == modified && source.length() == length) {
+            int n = a == null ? 0 : a.length;
+            try (CacheWriter w = new CacheWriter(cache, SEQUENCE, modified, length, delim, n, 1)) {
+                if (a != null) {
+                    w.put(a);
+                }
+                w.commit();
+            }
+        }
+        return a;
+    }
+
+    /*
+     * Blendet die Zwischendatei ein und prueft den Kopf. Liefert den Puffer
+     * (positioniert auf der Zeilenanzahl) oder null, wenn die
+     * Zwischendatei fehlt oder nicht mehr passt.
+     */
+    private static ByteBuffer map(File cache, int kind, long modified, long length,
+                                  String delim)
+    {
+        if (modified == 0L || !cache.isFile()) {
+            return null;
+        }
+        try (FileChannel ch = FileChannel.open(cache.toPath(), StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE) {
+                return null;
+            }
+            ByteBuffer bb = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            bb.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (bb.getInt() != MAGIC || bb.getInt() != VERSION || bb.getInt() != kind
+                || bb.getLong() != modified || bb.getLong() != length) {
+                return null;
+            }
+            byte[] d = delim.getBytes(StandardCharsets.UTF_8);
+            if (bb.getInt() != d.length) {
+                return null;
+            }
+            for (int i = 0; i < d.length; i++) {
+                if (bb.get() != d[i]) {
+                    return null;
+                }
+            }
+
+            // Passt die Dateigroesse zu Zeilen- und Spaltenanzahl?
+            int pos = bb.position();
+            long n = bb.getInt();
+            long m = bb.getInt();
+            if (n < 0 || m < 0 || align(bb).position() + 8 * n * m != size) {
+                return null;
+            }
+            bb.position(pos);
+            return bb;
+        }
+        catch (IOException | BufferUnderflowException e) {
+            return null; // Zwischendatei unbrauchbar: Textdatei lesen
+        }
+    }
+
+    // Position auf die naechste durch 8 teilbare Stelle setzen
+    private static ByteBuffer align(ByteBuffer bb)
+    {
+        bb.position((bb.position() + 7) & ~7);
+        return bb;
+    }
+
+    /*
+     * Schreibt eine Zwischendatei. Es wird zuerst in eine temporaere Datei
+     * (eindeutiger Name im selben Verzeichnis, damit sich mehrere Prozesse
+     * nicht stoeren) geschrieben, die erst bei commit() umbenannt wird.
+     * Fehler beim Schreiben werden ignoriert.
+     */
+    private static final class CacheWriter implements Closeable
+    {
+        private final File cache;
+        private Path temp; // null, wenn sie nicht angelegt werden konnte
+        private FileChannel ch;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(1 << 16)
+                                                 .order(ByteOrder.LITTLE_ENDIAN);
+
+        CacheWriter(File cache, int kind, long modified, long length, String delim,
+                    int n, int m)
+        {
+            this.cache = cache;
+            try {
+                Path dir = cache.getAbsoluteFile().getParentFile().toPath();
+                temp = Files.createTempFile(dir, cache.getName() + ".", ".tmp");
+                ch = FileChannel.open(temp, StandardOpenOption.WRITE);
+                byte[] d = delim.getBytes(StandardCharsets.UTF_8);
+                buf.putInt(MAGIC).putInt(VERSION).putInt(kind);
+                buf.putLong(modified).putLong(length);
+                buf.putInt(d.length);
+                for (int i = 0; i < d.length; i++) {
+                    put(d[i]);
+                }
+                buf.putInt(n).putInt(m);
+                while ((buf.position() & 7) != 0) {
+                    buf.put((byte) 0);
+                }
+            }
+            catch (IOException e) {
+                abort();
+            }
+        }
+
+        private void put(byte b) throws IOException
+        {
+            if (!buf.hasRemaining()) {
+                flush();
+            }
+            buf.put(b);
+        }
+
+        void put(double[] values)
+        {
+            if (ch == null) {
+                return;
+            }
+            try {
+                for (double v : values) {
+                    if (buf.remaining() < 8) {
+                        flush();
+                    }
+                    buf.putDouble(v);
+                }
+            }
+            catch (IOException e) {
+                abort();
+            }
+        }
+
+        private void flush() throws IOException
+        {
+            buf.flip();
+            while (buf.hasRemaining()) {
+                ch.write(buf);
+            }
+            buf.clear();
+        }
+
+        void commit()
+        {
+            if (ch == null) {
+                return;
+            }
+            try {
+                flush();
+                ch.close();
+                ch = null;
+                try {
+                    Files.move(temp, cache.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                               StandardCopyOption.ATOMIC_MOVE);
+                }
+                catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            catch (IOException e) {
+                abort();
+            }
+        }
+
+        private void abort()
+        {
+            try {
+                if (ch != null) {
+                    ch.close();
+                }
+            }
+            catch (IOException e) { }
+            ch = null;
+            try {
+                if (temp != null) {
+                    Files.deleteIfExists(temp);
+                }
+            }
+            catch (IOException e) { }
+        }
+
+        public void close()
+        {
+            if (ch != null) {
+                abort();
+            }
+        }
+    }
+}
@@ -0,0 +1,796 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse ArrayLoader
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Lade-Logik von readArray()/readSequence() aus JConsole
+ *            herausgeloest. Zeilen werden in einem geometrisch wachsenden
+ *            Speicher gesammelt statt das Array pro Zeile zu vergroessern.
+ * 2026-10-18 Zeilen werden mit NumberScanner in einem Durchlauf zerlegt
+ * 2026-10-18 readArrayMapped()/readSequenceMapped(): Lesen ueber FileChannel.map()
+ * 2026-10-18 readArrayParallel()/readSequenceParallel(): Abschnitte parallel lesen
+ * 2026-10-18 forEachRow()/forEachValue(): Zeilen einzeln weitergeben
+ * 2026-10-18 readMatrix(): Ergebnis als DoubleMatrix (spaltenweise)
+ * 2026-10-18 Standardtrennzeichen (STD_DELIM, delimiters()) aus JConsole
+ * 2026-10-18 readSequence(): wie bisher null, wenn die Zeile mit der Zahl
+ *            nicht mit dieser Zahl beginnt
+ * 2026-10-18 Parallel lesen: IOException auch aus mehrfach verpackten
+ *            Exceptions anderer Worker-Threads weitergeben
+ * ==================================================================
+ */
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Lade-Logik hinter den Methoden <tt>readArray()</tt> und <tt>readSequence()</tt>
+ * der Schnittstelle Konsole (JConsole, TextKonsole).
+ * <p>
+ * Die gelesenen Zeilen werden in einem Speicher gesammelt, dessen Kapazit&auml;t
+ * sich bei Bedarf verdoppelt. Erst am Ende wird das Ergebnis einmalig auf die
+ * tats&auml;chliche Zeilenanzahl gek&uuml;rzt. Der Aufwand ist damit linear in
+ * der Zeilenanzahl der Datei.
+ */
+final class ArrayLoader
+{
+    /**
+     * Die Standardtrennzeichen: Whitespace, alle Satzzeichen (ausser Punkt!)
+     * und alle Klammern.
+     */
+    static final String STD_DELIM = " \t,;!?:()[]{}<>*/";
+
+    private ArrayLoader() { }
+
+    /**
+     * Bestimmt die Trennzeichen f&uuml;r die read-Methoden der Konsole.
+     *
+     * @param delim Zeichenkette mit zus&auml;tzlichen Trennzeichen.
+     * @param appendDelim Die Standardtrennzeichen sollen ebenfalls benutzt werden.
+     * @return Zeichenkette mit allen Trennzeichen.
+     */
+    static String delimiters(String delim, boolean appendDelim)
+    {
+        return appendDelim ? STD_DELIM + delim : delim;
+    }
+
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein zweidimensionales Array.
+     * Siehe Konsole.readArray().
+     *
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim Zeichenkette mit allen Trennzeichen.
+     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    static double[][] readArray(String filename, String delim) throws IOException
+    {
+        ArrayRows rows = new ArrayRows(delim);
+
+        readLines(filename, rows);
+        return rows.toArray();
+    }
+
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein eindimensionales Array.
+     * Siehe Konsole.readSequence().
+     *
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim Zeichenkette mit allen Trennzeichen.
+     * @return Das eindimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    static double[] readSequence(String filename, String delim) throws IOException
+    {
+        SequenceValues values = new SequenceValues(delim);
+
+        readLines(filename, values);
+        return values.toArray();
+    }
+
+    /**
+     * Wie readArray(), die Datei wird jedoch in den Speicher eingeblendet
+     * und byteweise gelesen. Siehe Konsole.readArrayMapped().
+     *
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim Zeichenkette mit allen Trennzeichen.
+     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    static double[][] readArrayMapped(String filename, String delim) throws IOException
+    {
+        if (!isAscii(delim)) {
+            return readArray(filename, delim);
+        }
+        ArrayRows rows = new ArrayRows(delim);
+
+        mapLines(filename, rows);
+        return rows.toArray();
+    }
+
+    /**
+     * Wie readSequence(), die Datei wird jedoch in den Speicher eingeblendet
+     * und byteweise gelesen. Siehe Konsole.readSequenceMapped().
+     *
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim Zeichenkette mit allen Trennzeichen.
+     * @return Das eindimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    static double[] readSequenceMapped(String filename, String delim) throws IOException
+    {
+        if (!isAscii(delim)) {
+            return readSequence(filename, delim);
+        }
+        SequenceValues values = new SequenceValues(delim);
+
+        mapLines(filename, values);
+        return values.toArray();
+    }
+
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in eine spaltenweise abgelegte
+     * Matrix. Siehe Konsole.readMatrix().
+     *
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim Zeichenkette mit allen Trennzeichen.
+     * @return Die Matrix. Oder null im Fehlerfall.
+     */
+    static DoubleMatrix readMatrix(String filename, String delim) throws IOException
+    {
+        MatrixColumns columns = new MatrixColumns(delim);
+
+        readLines(filename, columns);
+        return columns.toMatrix();
+    }
+
+    /**
+     * Liest die Zeilen einer Textdatei nach den Regeln von readArray() und
+     * gibt jede Zeile sofort an <tt>action</tt> weiter.
+     * Siehe Konsole.forEachRow().
+     *
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim Zeichenkette mit allen Trennzeichen.
+     * @param action Empf&auml;nger der Zeilen.
+     * @return Die Anzahl der Zeilen.
+     */
+    static long forEachRow(String filename, String delim, Consumer<double[]> action) throws IOException
+    {
+        RowStream rows = new RowStream(delim, action);
+
+        readLines(filename, rows);
+        return rows.count();
+    }
+
+    /**
+     * Liest die Werte einer Textdatei nach den Regeln von readSequence() und
+     * gibt jeden Wert sofort an <tt>action</tt> weiter.
+     * Siehe Konsole.forEachValue().
+     *
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim Zeichenkette mit allen Trennzeichen.
+     * @param action Empf&auml;nger der Werte.
+     * @return Die Anzahl der Werte, oder -1 im Fehlerfall (readSequence()
+     *         liefert dann null; das Lesen endet an der fehlerhaften Zeile).
+     */
+    static long forEachValue(String filename, String delim, DoubleConsumer action) throws IOException
+    {
+        ValueStream values = new ValueStream(delim, action);
+
+        readLines(filename, values);
+        return values.failed() ? -1 : values.count();
+    }
+
+// ===============================================================
+// ==== PARALLEL SECTION =========================================
+// ===============================================================
+
+    // Mindestgroesse eines Abschnitts beim parallelen Lesen
+    static final int MIN_CHUNK = 1 << 20;
+
+    /**
+     * Wie readArray(), die Datei wird jedoch an Zeilengrenzen in Abschnitte
+     * zerlegt, die parallel (ForkJoinPool) gelesen werden.
+     * Siehe Konsole.readArrayParallel().
+     *
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim Zeichenkette mit allen Trennzeichen.
+     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    static double[][] readArrayParallel(String filename, String delim) throws IOException
+    {
+        if (!isAscii(delim)) {
+            return readArray(filename, delim);
+        }
+
+        try (FileChannel ch = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long[] bounds = split(ch);
+
+            // Die erste Zeile mit mindestens zwei Zahlen bestimmt die
+            // Spaltenanzahl m. Sie wird vorab (in Dateireihenfolge) gesucht,
+            // damit alle Abschnitte mit demselben m arbeiten.
+            ColumnProbe probe = new ColumnProbe(delim);
+            for (int k = 0; k + 1 < bounds.length && probe.columns() == 0; k++) {
+                mapLines(ch, bounds[k], bounds[k + 1], probe);
+            }
+            int m = probe.columns();
+            if (m == 0) {
+                return null;
+            }
+
+            List<ForkJoinTask<RowStore>> tasks = new ArrayList<>();
+            for (int k = 0; k + 1 < bounds.length; k++) {
+                long from = bounds[k];
+                long to = bounds[k + 1];
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    ArrayRows rows = new ArrayRows(delim, m);
+                    mapLines(ch, from, to, rows);
+                    return rows.rows();
+                }));
+            }
+
+            // Ergebnisse in Dateireihenfolge zusammensetzen
+            RowStore a = new RowStore();
+            for (ForkJoinTask<RowStore> t : invokeAll(tasks)) {
+                a.addAll(t.join());
+            }
+            return a.toArray();
+        }
+    }
+
+    /**
+     * Wie readSequence(), die Datei wird jedoch an Zeilengrenzen in Abschnitte
+     * zerlegt, die parallel (ForkJoinPool) gelesen werden.
+     * Siehe Konsole.readSequenceParallel().
+     *
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim Zeichenkette mit allen Trennzeichen.
+     * @return Das eindimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    static double[] readSequenceParallel(String filename, String delim) throws IOException
+    {
+        if (!isAscii(delim)) {
+            return readSequence(filename, delim);
+        }
+
+        try (FileChannel ch = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long[] bounds = split(ch);
+
+            List<ForkJoinTask<SequenceStore>> tasks = new ArrayList<>();
+            for (int k = 0; k + 1 < bounds.length; k++) {
+                long from = bounds[k];
+                long to = bounds[k + 1];
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    SequenceValues values = new SequenceValues(delim);
+                    mapLines(ch, from, to, values);
+                    return values.failed() ? null : values.values();
+                }));
+            }
+
+            // Ergebnisse in Dateireihenfolge zusammensetzen; ein
+            // fehlerhafter Abschnitt macht die ganze Datei ungueltig
+            SequenceStore a = new SequenceStore();
+            for (ForkJoinTask<SequenceStore> t : invokeAll(tasks)) {
+                if (t.join() == null) {
+                    return null;
+                }
+                a.addAll(t.join());
+            }
+            return a.toArray();
+        }
+    }
+
+    /*
+     * Fuehrt die Abschnitte im ForkJoinPool aus. Eine IOException eines
+     * Abschnitts wird an den Aufrufer weitergegeben. Sie kann mehrfach
+     * verpackt sein: adapt() verpackt sie in eine RuntimeException, und
+     * join() in einem anderen Thread verpackt diese noch einmal.
+     */
+    private static <T> List<ForkJoinTask<T>> invokeAll(List<ForkJoinTask<T>> tasks) throws IOException
+    {
+        try {
+            ForkJoinTask.invokeAll(tasks);
+            return tasks;
+        }
+        catch (RuntimeException e) {
+            for (Throwable t = e.getCause(); t != null; t = t.getCause()) {
+                if (t instanceof IOException) {
+                    throw (IOException) t;
+                }
+            }
+            throw e;
+        }
+    }
+
+    /*
+     * Zerlegt die Datei in Abschnitte, die jeweils am Anfang einer Zeile
+     * beginnen. Liefert die Grenzen b[0] = 0 < b[1] < ... < b[k] = Dateigroesse.
+     * Es gibt etwa 4 Abschnitte je Prozessorkern, jedoch keinen kleiner als
+     * MIN_CHUNK und keinen groesser als WINDOW Bytes.
+     */
+    static long[] split(FileChannel ch) throws IOException
+    {
+        long size = ch.size();
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        long chunk = Math.max(MIN_CHUNK, Math.min(WINDOW, size / (4L * parallelism) + 1));
+        List<Long> bounds = new ArrayList<>();
+
+        bounds.add(0L);
+        long pos = 0;
+        while (size - pos > chunk) {
+            pos = nextLineStart(ch, pos + chunk, size);
+            bounds.add(pos);
+        }
+        if (pos < size) {
+            bounds.add(size);
+        }
+
+        long[] b = new long[bounds.size()];
+        for (int k = 0; k < b.length; k++) {
+            b[k] = bounds.get(k);
+        }
+        return b;
+    }
+
+    // Position hinter dem ersten Zeilenende ab pos (oder Dateigroesse)
+    private static long nextLineStart(FileChannel ch, long pos, long size) throws IOException
+    {
+        ByteBuffer buf = ByteBuffer.allocate(8192);
+
+        while (pos < size) {
+            buf.clear();
+            int n = ch.read(buf, pos);
+            if (n <= 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                byte b = buf.get(i);
+                if (b == '\n' || b == '\r') {
+                    return pos + i + 1;
+                }
+            }
+            pos += n;
+        }
+        return size;
+    }
+
+// ===============================================================
+// ==== LINE FILTER SECTION ======================================
+// ===============================================================
+
+    /*
+     * Empfaenger fuer die Zeilen einer Datei. Die Zeichen stehen in
+     * buf[0] bis buf[len - 1]; das Feld wird fuer die naechste Zeile
+     * wiederverwendet. Liefert false, wenn keine weiteren Zeilen
+     * gelesen werden sollen.
+     */
+    interface LineHandler
+    {
+        boolean line(char[] buf, int len);
+    }
+
+    /*
+     * Regeln von readArray(): Eine Zeile wird uebernommen, wenn sie die
+     * gleiche Anzahl Zahlen wie die erste Zeile mit mindestens zwei Zahlen
+     * enthaelt. Uebernommene Zeilen werden an row() gegeben.
+     */
+    abstract static class ArrayFilter implements LineHandler
+    {
+        private final NumberScanner scanner; // Zerlegt die Zeilen
+        private int m; // Spaltenanzahl des Arrays
+
+        // Mit bereits bekannter Spaltenanzahl m (0: erste passende Zeile entscheidet)
+        ArrayFilter(String delim, int m) {
+            scanner = new NumberScanner(delim);
+            this.m = m;
+        }
+
+        public boolean line(char[] buf, int len) {
+            // Leere Zeilen und Kommantarzeilen ueberlesen
+            if (len < 1 || buf[0] == '#') {
+                return true;
+            }
+
+            // Alle Token der Zeile, die Zahlen sind, lesen
+            int ta = scanner.scan(buf, 0, len, Integer.MAX_VALUE);
+
+            // Tokenanzahl muss mindestens 2 sein
+            if (ta < 2) {
+                return true;
+            }
+
+            // Wenn Spaltenanzahl noch 0 ist, dann ist ta die Spaltenzahl m
+            // Die Spaltenanzahl muss mit der Tokenanazhal uebereinstimmen, d.h.
+            // es werden nur Zeilen gelesen, die die gleiche Anzahl von Zahlen
+            // haben!
+            if (m == 0) {
+                m = ta;
+            }
+            else if (ta != m) {
+                return true;
+            }
+
+            row(scanner.values(), m);
+            return true;
+        }
+
+        // Eine uebernommene Zeile: values[0] bis values[m - 1] (wird wiederverwendet!)
+        abstract void row(double[] values, int m);
+    }
+
+    /*
+     * Sammelt die Zeilen fuer readArray().
+     */
+    static final class ArrayRows extends ArrayFilter
+    {
+        private final RowStore a = new RowStore(); // Die gelesenen Zeilen
+
+        ArrayRows(String delim) { this(delim, 0); }
+
+        ArrayRows(String delim, int m) { super(delim, m); }
+
+        void row(double[] values, int m) { a.add(Arrays.copyOf(values, m)); }
+
+        RowStore rows() { return a; }
+
+        // Wenn alles erfolgreich war, muss mindestens eine Zeile gelesen sein!
+        double[][] toArray() { return a.toArray(); }
+    }
+
+    /*
+     * Sammelt die Zeilen fuer readMatrix() spaltenweise: je Spalte ein
+     * Array, das bei Bedarf verdoppelt wird. Am Ende werden die Spalten
+     * hintereinander in ein Array kopiert.
+     */
+    static final class MatrixColumns extends ArrayFilter
+    {
+        private double[][] columns; // Je Spalte ein Array
+        private int n = 0; // Zeilenanzahl
+
+        MatrixColumns(String delim) { super(delim, 0); }
+
+        void row(double[] values, int m) {
+            if (columns == null) {
+                columns = new double[m][64];
+            }
+            if (n == columns[0].length) {
+                for (int j = 0; j < m; j++) {
+                    columns[j] = Arrays.copyOf(columns[j], 2 * n);
+                }
+            }
+            for (int j = 0; j < m; j++) {
+                columns[j][n] = values[j];
+            }
+            n++;
+        }
+
+        // Wenn alles erfolgreich war, muss mindestens eine Zeile gelesen sein!
+        DoubleMatrix toMatrix() {
+            if (n < 1) {
+                return null;
+            }
+            int m = columns.length;
+            double[] data = new double[Math.multiplyExact(n, m)];
+            for (int j = 0; j < m; j++) {
+                System.arraycopy(columns[j], 0, data, j * n, n);
+                columns[j] = null;
+            }
+            return new DoubleMatrix(data, n, m);
+        }
+    }
+
+    /*
+     * Gibt jede Zeile an einen Consumer weiter. Alle Zeilen werden in
+     * demselben Feld der Laenge m uebergeben.
+     */
+    static final class RowStream extends ArrayFilter
+    {
+        private final Consumer<double[]> action;
+        private double[] row = new double[0]; // Wiederverwendete Zeile
+        private long n = 0; // Anzahl der Zeilen
+
+        RowStream(String delim, Consumer<double[]> action) {
+            super(delim, 0);
+            this.action = action;
+        }
+
+        void row(double[] values, int m) {
+            if (row.length != m) {
+                row = new double[m];
+            }
+            System.arraycopy(values, 0, row, 0, m);
+            action.accept(row);
+            n++;
+        }
+
+        long count() { return n; }
+    }
+
+    /*
+     * Regeln von readSequence(): Eine Zeile wird uebernommen, wenn sie genau
+     * eine Zahl enthaelt. Uebernommene Werte werden an value() gegeben.
+     * Ist das erste Token einer solchen Zeile keine Zahl (z.B. "x 5"), ist
+     * die ganze Datei ungueltig: das Lesen endet und failed() ist true.
+     */
+    abstract static class SequenceFilter implements LineHandler
+    {
+        private final NumberScanner scanner; // Zerlegt die Zeilen
+        private boolean failed = false; // Ungueltige Zeile gefunden?
+
+        SequenceFilter(String delim) { scanner = new NumberScanner(delim); }
+
+        public boolean line(char[] buf, int len) {
+            // Leere Zeilen und Kommantarzeilen ueberlesen
+            if (len < 1 || buf[0] == '#') {
+                return true;
+            }
+
+            // Tokenanzahl muss genau 1 sein (Suche endet nach der 2. Zahl)
+            if (scanner.scan(buf, 0, len, 2) != 1) {
+                return true;
+            }
+            // Die Zahl muss das erste Token sein, sonst Fehler
+            if (!scanner.leadingNumber()) {
+                failed = true;
+                return false;
+            }
+            value(scanner.values()[0]);
+            return true;
+        }
+
+        boolean failed() { return failed; }
+
+        abstract void value(double value);
+    }
+
+    /*
+     * Sammelt die Werte fuer readSequence().
+     */
+    static final class SequenceValues extends SequenceFilter
+    {
+        private final SequenceStore a = new SequenceStore(); // Die gelesenen Werte
+
+        SequenceValues(String delim) { super(delim); }
+
+        void value(double value) { a.add(value); }
+
+        SequenceStore values() { return a; }
+
+        // Wenn alles erfolgreich war, muss mindestens ein Wert gelesen sein!
+        double[] toArray() { return failed() ? null : a.toArray(); }
+    }
+
+    /*
+     * Gibt jeden Wert an einen DoubleConsumer weiter.
+     */
+    static final class ValueStream extends SequenceFilter
+    {
+        private final DoubleConsumer action;
+        private long n = 0; // Anzahl der Werte
+
+        ValueStream(String delim, DoubleConsumer action) {
+            super(delim);
+            this.action = action;
+        }
+
+        void value(double value) {
+            action.accept(value);
+            n++;
+        }
+
+        long count() { return n; }
+    }
+
+    /*
+     * Sucht die erste Zeile mit mindestens zwei Zahlen. Deren Anzahl ist
+     * die Spaltenanzahl von readArray(). Die Suche endet an dieser Zeile.
+     */
+    static final class ColumnProbe implements LineHandler
+    {
+        private final NumberScanner scanner; // Zerlegt die Zeilen
+        private int m = 0; // Gefundene Spaltenanzahl (0: noch keine)
+
+        ColumnProbe(String delim) { scanner = new NumberScanner(delim); }
+
+        public boolean line(char[] buf, int len) {
+            if (len < 1 || buf[0] == '#') {
+                return true;
+            }
+            int ta = scanner.scan(buf, 0, len, Integer.MAX_VALUE);
+            if (ta >= 2) {
+                m = ta;
+                return false;
+            }
+            return true;
+        }
+
+        int columns() { return m; }
+    }
+
+// ===============================================================
+// ==== LINE SOURCE SECTION ======================================
+// ===============================================================
+
+    // Groesse eines eingeblendeten Dateiausschnitts
+    static final int WINDOW = 1 << 26;
+
+    /*
+     * Liest die Zeilen einer Textdatei mit einem BufferedReader
+     * (Zeichensatz der Plattform).
+     */
+    static void readLines(String filename, LineHandler h) throws IOException
+    {
+        char[] buf = new char[256];
+        String line; // Eine Zeile der Datei
+
+        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
+            while ((line = br.readLine()) != null) {
+                int len = line.length();
+                if (len > buf.length) {
+                    buf = new char[Math.max(len, 2 * buf.length)];
+                }
+                line.getChars(0, len, buf, 0);
+                if (!h.line(buf, len)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /*
+     * Liest die Zeilen einer Textdatei aus dem eingeblendeten Dateiinhalt.
+     */
+    static void mapLines(String filename, LineHandler h) throws IOException
+    {
+        try (FileChannel ch = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            mapLines(ch, 0, ch.size(), h);
+        }
+    }
+
+    /*
+     * Liest die Zeilen zwischen den Bytepositionen from (inklusive) und to
+     * (exklusive). Der Bereich wird in Ausschnitten von hoechstens WINDOW
+     * Bytes eingeblendet, so dass auch Dateien ueber 2 GB gelesen werden
+     * koennen. Eine Zeile, die ueber das Ende eines Ausschnitts hinausgeht,
+     * wird im naechsten Ausschnitt vollstaendig gelesen.
+     * <p>
+     * Zeilenenden sind wie bei BufferedReader.readLine() '\n', '\r' oder
+     * "\r\n". Jedes Byte wird als ein Zeichen (ISO-8859-1) aufgefasst; fuer
+     * ASCII-Dateien entspricht das dem Ergebnis von readLines().
+     */
+    static void mapLines(FileChannel ch, long from, long to, LineHandler h) throws IOException
+    {
+        char[] line = new char[256]; // Zeichen der aktuellen Zeile
+        long pos = from; // Beginn des naechsten Ausschnitts
+        long window = WINDOW;
+
+        while (pos < to) {
+            int size = (int) Math.min(window, to - pos);
+            boolean last = pos + size >= to;
+            MappedByteBuffer mb = ch.map(FileChannel.MapMode.READ_ONLY, pos, size);
+            int start = 0; // Beginn der aktuellen Zeile im Ausschnitt
+            int len = 0; // Laenge der aktuellen Zeile
+
+            for (int i = 0; i < size; i++) {
+                byte b = mb.get(i);
+                if (b == '\n' || b == '\r') {
+                    if (!h.line(line, len)) {
+                        return;
+                    }
+                    len = 0;
+                    start = i + 1;
+                    continue;
+                }
+                if (len == line.length) {
+                    line = Arrays.copyOf(line, 2 * len);
+                }
+                line[len++] = (char) (b & 0xff);
+            }
+
+            if (last) {
+                // Letzte Zeile ohne Zeilenende
+                if (len > 0) {
+                    h.line(line, len);
+                }
+                break;
+            }
+            if (start == 0) {
+                // Zeile laenger als der Ausschnitt: Ausschnitt vergroessern
+                if (window >= Integer.MAX_VALUE) {
+                    throw new IOException("Zeile zu lang (ab Byte " + pos + ")");
+                }
+                window = Math.min(2 * window, Integer.MAX_VALUE);
+                continue;
+            }
+            pos += start;
+            window = WINDOW;
+        }
+    }
+
+    // Enthaelt die Zeichenkette nur ASCII-Zeichen?
+    static boolean isAscii(String s)
+    {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= 128) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+// ===============================================================
+// ==== INTERNAL STORAGE SECTION =================================
+// ===============================================================
+
+    /*
+     * Sammelt die Zeilen eines zweidimensionalen Arrays. Es wird nur das
+     * Feld der Zeilenverweise vergroessert (Verdopplung), die Zeilen selbst
+     * werden nie kopiert.
+     */
+    static final class RowStore
+    {
+        private double[][] rows = new double[16][];
+        private int n = 0; // Anzahl der belegten Zeilen
+
+        void add(double[] row) {
+            if (n == rows.length) {
+                rows = Arrays.copyOf(rows, 2 * n);
+            }
+            rows[n++] = row;
+        }
+
+        void addAll(RowStore other) {
+            if (n + other.n > rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(2 * rows.length, n + other.n));
+            }
+            System.arraycopy(other.rows, 0, rows, n, other.n);
+            n += other.n;
+        }
+
+        int size() { return n; }
+
+        // Liefert die Zeilen in passender Groesse, oder null, wenn leer
+        double[][] toArray() {
+            if (n < 1) {
+                return null;
+            }
+            return n == rows.length ? rows : Arrays.copyOf(rows, n);
+        }
+    }
+
+    /*
+     * Sammelt die Werte eines eindimensionalen Arrays (Verdopplung der
+     * Kapazitaet bei Bedarf).
+     */
+    static final class SequenceStore
+    {
+        private double[] values = new double[64];
+        private int n = 0; // Anzahl der belegten Werte
+
+        void add(double value) {
+            if (n == values.length) {
+                values = Arrays.copyOf(values, 2 * n);
+            }
+            values[n++] = value;
+        }
+
+        void addAll(SequenceStore other) {
+            if (n + other.n > values.length) {
+                values = Arrays.copyOf(values, Math.max(2 * values.length, n + other.n));
+            }
+            System.arraycopy(other.values, 0, values, n, other.n);
+            n += other.n;
+        }
+
+        int size() { return n; }
+
+        // Liefert die Werte in passender Groesse, oder null, wenn leer
+        double[] toArray() {
+            if (n < 1) {
+                return null;
+            }
+            return n == values.length ? values : Arrays.copyOf(values, n);
+        }
+    }
+}
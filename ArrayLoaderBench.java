@@ -0,0 +1,134 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse ArrayLoaderBench
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Laufzeit von readArray()/readSequence() fuer 10k bis 10M Zeilen
+ * ==================================================================
+ */
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+
+/**
+ * Misst, wie die Laufzeit von <tt>ArrayLoader.readArray()</tt> und
+ * <tt>ArrayLoader.readSequence()</tt> mit der Zeilenanzahl w&auml;chst
+ * (10k, 100k, 1M und 10M Zeilen). Bei linearem Wachstum bleibt die Zeit pro
+ * Zeile ungef&auml;hr gleich; der Faktor zur vorigen Gr&ouml;&szlig;e liegt
+ * dann bei etwa 10.
+ * <p>
+ * Aufruf: <tt>java -Xmx2g ArrayLoaderBench [zeilen ...]</tt>. Wird die Zeit
+ * pro Zeile bei der gr&ouml;&szlig;ten Datei mehr als viermal so lang wie
+ * bei der kleinsten (nicht-linearer Verlauf), endet das Programm mit dem
+ * Status 1.
+ */
+final class ArrayLoaderBench
+{
+    private static final int[] ZEILEN = { 10000, 100000, 1000000, 10000000 };
+    private static final int WIEDERHOLUNGEN = 3; // Bester von n Durchlaeufen
+    private static final double MAX_FAKTOR = 4.0; // Zulaessige Zunahme pro Zeile
+
+    public static void main(String[] args) throws IOException
+    {
+        int[] zeilen = ZEILEN;
+        if (args.length > 0) {
+            zeilen = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                zeilen[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        Path tabelle = Files.createTempFile("tabelle", ".txt");
+        Path folge = Files.createTempFile("folge", ".txt");
+        try {
+            // Aufwaermen, damit die erste Messung nicht den JIT mitmisst
+            schreibe(tabelle, 100000, true);
+            schreibe(folge, 100000, false);
+            for (int i = 0; i < 5; i++) {
+                ArrayLoader.readArray(tabelle.toString(), ArrayLoader.STD_DELIM);
+                ArrayLoader.readSequence(folge.toString(), ArrayLoader.STD_DELIM);
+            }
+
+            System.out.println(String.format("%9s %11s %9s %7s  %12s %8s %7s", "Zeilen",
+                                             "readArray", "ns/Zeile", "Faktor",
+                                             "readSequence", "ns/Zeile", "Faktor"));
+            double ersteTabelle = 0, ersteFolge = 0;
+            double letzteTabelle = 0, letzteFolge = 0;
+            long vorTabelle = 0, vorFolge = 0;
+            for (int n : zeilen) {
+                schreibe(tabelle, n, true);
+                schreibe(folge, n, false);
+                long tTabelle = messe(tabelle, n, true);
+                long tFolge = messe(folge, n, false);
+
+                StringBuilder sb = new StringBuilder();
+                sb.append(String.format("%9d %8d ms %9.1f %7s", n, tTabelle / 1000000,
+                                        (double) tTabelle / n, faktor(tTabelle, vorTabelle)));
+                sb.append(String.format("  %9d ms %8.1f %7s", tFolge / 1000000,
+                                        (double) tFolge / n, faktor(tFolge, vorFolge)));
+                System.out.println(sb);
+
+                letzteTabelle = (double) tTabelle / n;
+                letzteFolge = (double) tFolge / n;
+                if (ersteTabelle == 0) {
+                    ersteTabelle = letzteTabelle;
+                    ersteFolge = letzteFolge;
+                }
+                vorTabelle = tTabelle;
+                vorFolge = tFolge;
+            }
+
+            boolean linear = letzteTabelle <= MAX_FAKTOR * ersteTabelle
+                          && letzteFolge <= MAX_FAKTOR * ersteFolge;
+            System.out.println(linear ? "OK: linear" : "FEHLER: Zeit pro Zeile waechst");
+            if (!linear) {
+                System.exit(1);
+            }
+        }
+        finally {
+            Files.deleteIfExists(tabelle);
+            Files.deleteIfExists(folge);
+        }
+    }
+
+    // Bester von WIEDERHOLUNGEN Durchlaeufen in Nanosekunden
+    private static long messe(Path datei, int n, boolean tabelle) throws IOException
+    {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < WIEDERHOLUNGEN; i++) {
+            long start = System.nanoTime();
+            int laenge = tabelle
+                ? ArrayLoader.readArray(datei.toString(), ArrayLoader.STD_DELIM).length
+                : ArrayLoader.readSequence(datei.toString(), ArrayLoader.STD_DELIM).length;
+            long t = System.nanoTime() - start;
+            if (laenge != n) {
+                throw new IllegalStateException(laenge + " Zeilen gelesen, erwartet " + n);
+            }
+            best = Math.min(best, t);
+        }
+        return best;
+    }
+
+    private static String faktor(long t, long vorher)
+    {
+        return vorher == 0 ? "-" : String.format("%.1f", (double) t / vorher);
+    }
+
+    // Tabelle: zwei Spalten pro Zeile; Folge: ein Wert pro Zeile
+    private static void schreibe(Path datei, int n, boolean tabelle) throws IOException
+    {
+        try (BufferedWriter out = Files.newBufferedWriter(datei, StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < n; i++) {
+                out.write(Integer.toString(i));
+                if (tabelle) {
+                    out.write(' ');
+                    out.write(Integer.toString(i % 1000));
+                    out.write(".5");
+                }
+                out.newLine();
+            }
+        }
+    }
+}
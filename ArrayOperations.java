@@ -0,0 +1,336 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse ArrayOperations
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Operatoren elementweise auf ganze Arrays anwenden
+ * 2026-10-18 applyParallel(): grosse Arrays im ForkJoinPool aufteilen
+ * ==================================================================
+ */
+import java.util.concurrent.*;
+
+/**
+ * Wendet einen Operator elementweise auf ganze Arrays an, z.B. auf die
+ * Spalten, die <tt>readArray()</tt> oder <tt>readMatrix()</tt> liefern:
+ * <pre>
+ *     DoubleMatrix m = konsole.readMatrix("messung.txt");
+ *     double[] d = m.data();
+ *     double[] summe = new double[m.rows()];
+ *
+ *     // summe = Spalte 0 + Spalte 1
+ *     ArrayOperations.apply(DoubleOperator.ADD, d, m.offset(0), d, m.offset(1),
+ *                           summe, 0, m.rows());
+ * </pre>
+ * F&uuml;r die Grundrechenarten (<tt>DoubleOperator.ADD</tt>, <tt>SUB</tt>,
+ * <tt>MUL</tt>, <tt>DIV</tt>) gibt es eigene, einfache Schleifen ohne
+ * Methodenaufruf je Element. Diese Schleifen &uuml;bersetzt der JIT-Compiler
+ * in SIMD-Befehle (mehrere Elemente pro Befehl), so dass die Laufzeit
+ * durch die Speicherbandbreite bestimmt wird. Alle anderen Operatoren
+ * werden je Element aufgerufen.
+ * <p>
+ * Die Ergebnisse sind bitgleich mit <tt>op.calculate()</tt> je Element;
+ * bei float-Arrays wird in float gerechnet, was f&uuml;r die Grundrechenarten
+ * dasselbe Ergebnis liefert wie das Runden des double-Ergebnisses.
+ * <p>
+ * Gro&szlig;e Arrays k&ouml;nnen mit <tt>applyParallel()</tt> auf alle
+ * Prozessorkerne verteilt werden.
+ */
+public final class ArrayOperations
+{
+    private ArrayOperations() { }
+
+    /**
+     * dest[i] = op(a[i], b[i]) f&uuml;r alle i.
+     *
+     * @param op Der Operator.
+     * @param a Linke Operanden.
+     * @param b Rechte Operanden (gleiche L&auml;nge wie a).
+     * @param dest Ziel (gleiche L&auml;nge wie a), oder null f&uuml;r ein neues
+     *             Array. Darf a oder b sein.
+     * @return Das Ziel-Array.
+     */
+    public static double[] apply(DoubleOperator op, double[] a, double[] b, double[] dest)
+    {
+        if (dest == null) {
+            dest = new double[a.length];
+        }
+        checkLength(a.length, b.length, dest.length);
+        apply(op, a, 0, b, 0, dest, 0, a.length);
+        return dest;
+    }
+
+    /**
+     * dest[i] = op(a[i], b) f&uuml;r alle i.
+     *
+     * @param op Der Operator.
+     * @param a Linke Operanden.
+     * @param b Rechter Operand f&uuml;r alle Elemente.
+     * @param dest Ziel (gleiche L&auml;nge wie a), oder null f&uuml;r ein neues
+     *             Array. Darf a sein.
+     * @return Das Ziel-Array.
+     */
+    public static double[] apply(DoubleOperator op, double[] a, double b, double[] dest)
+    {
+        if (dest == null) {
+            dest = new double[a.length];
+        }
+        checkLength(a.length, a.length, dest.length);
+        apply(op, a, 0, b, dest, 0, a.length);
+        return dest;
+    }
+
+    /**
+     * dest[d + i] = op(a[ai + i], b[bi + i]) f&uuml;r i = 0 bis n - 1.
+     *
+     * @param op Der Operator.
+     * @param a Linke Operanden.
+     * @param ai Index des ersten linken Operanden.
+     * @param b Rechte Operanden.
+     * @param bi Index des ersten rechten Operanden.
+     * @param dest Ziel.
+     * @param d Index des ersten Ergebnisses.
+     * @param n Anzahl der Elemente.
+     */
+    public static void apply(DoubleOperator op, double[] a, int ai, double[] b, int bi,
+                             double[] dest, int d, int n)
+    {
+        checkRange(a.length, ai, n);
+        checkRange(b.length, bi, n);
+        checkRange(dest.length, d, n);
+
+        if (op == DoubleOperator.ADD) {
+            for (int i = 0; i < n; i++) {
+                dest[d + i] = a[ai + i] + b[bi + i];
+            }
+        } else if (op == DoubleOperator.SUB) {
+            for (int i = 0; i < n; i++) {
+                dest[d + i] = a[ai + i] - b[bi + i];
+            }
+        } else if (op == DoubleOperator.MUL) {
+            for (int i = 0; i < n; i++) {
+                dest[d + i] = a[ai + i] * b[bi + i];
+            }
+        } else if (op == DoubleOperator.DIV) {
+            for (int i = 0; i < n; i++) {
+                dest[d + i] = a[ai + i] / b[bi + i];
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                dest[d + i] = op.calculate(a[ai + i], b[bi + i]);
+            }
+        }
+    }
+
+    /**
+     * dest[d + i] = op(a[ai + i], b) f&uuml;r i = 0 bis n - 1.
+     *
+     * @param op Der Operator.
+     * @param a Linke Operanden.
+     * @param ai Index des ersten linken Operanden.
+     * @param b Rechter Operand f&uuml;r alle Elemente.
+     * @param dest Ziel.
+     * @param d Index des ersten Ergebnisses.
+     * @param n Anzahl der Elemente.
+     */
+    public static void apply(DoubleOperator op, double[] a, int ai, double b,
+                             double[] dest, int d, int n)
+    {
+        checkRange(a.length, ai, n);
+        checkRange(dest.length, d, n);
+
+        if (op == DoubleOperator.ADD) {
+            for (int i = 0; i < n; i++) {
+                dest[d + i] = a[ai + i] + b;
+            }
+        } else if (op == DoubleOperator.SUB) {
+            for (int i = 0; i < n; i++) {
+                dest[d + i] = a[ai + i] - b;
+            }
+        } else if (op == DoubleOperator.MUL) {
+            for (int i = 0; i < n; i++) {
+                dest[d + i] = a[ai + i] * b;
+            }
+        } else if (op == DoubleOperator.DIV) {
+            for (int i = 0; i < n; i++) {
+                dest[d + i] = a[ai + i] / b;
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                dest[d + i] = op.calculate(a[ai + i], b);
+            }
+        }
+    }
+
+    /**
+     * dest[i] = (float) op(a[i], b[i]) f&uuml;r alle i.
+     *
+     * @param op Der Operator.
+     * @param a Linke Operanden.
+     * @param b Rechte Operanden (gleiche L&auml;nge wie a).
+     * @param dest Ziel (gleiche L&auml;nge wie a), oder null f&uuml;r ein neues
+     *             Array. Darf a oder b sein.
+     * @return Das Ziel-Array.
+     */
+    public static float[] apply(DoubleOperator op, float[] a, float[] b, float[] dest)
+    {
+        if (dest == null) {
+            dest = new float[a.length];
+        }
+        checkLength(a.length, b.length, dest.length);
+        int n = a.length;
+
+        if (op == DoubleOperator.ADD) {
+            for (int i = 0; i < n; i++) {
+                dest[i] = a[i] + b[i];
+            }
+        } else if (op == DoubleOperator.SUB) {
+            for (int i = 0; i < n; i++) {
+                dest[i] = a[i] - b[i];
+            }
+        } else if (op == DoubleOperator.MUL) {
+            for (int i = 0; i < n; i++) {
+                dest[i] = a[i] * b[i];
+            }
+        } else if (op == DoubleOperator.DIV) {
+            for (int i = 0; i < n; i++) {
+                dest[i] = a[i] / b[i];
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                dest[i] = (float) op.calculate(a[i], b[i]);
+            }
+        }
+        return dest;
+    }
+
+// ===============================================================
+// ==== PARALLEL SECTION =========================================
+// ===============================================================
+
+    // Kleinere Abschnitte werden nicht weiter aufgeteilt
+    static final int MIN_CHUNK = 1 << 16;
+
+    /**
+     * Wie <tt>apply(op, a, b, dest)</tt>, jedoch auf mehrere Threads
+     * verteilt (ForkJoinPool.commonPool()). Das Array wird rekursiv halbiert,
+     * bis die Abschnitte etwa vier Aufgaben je Thread ergeben, mindestens aber
+     * MIN_CHUNK Elemente lang sind. Kleine Arrays werden direkt berechnet.
+     * Au&szlig;er den Aufgaben selbst werden keine Objekte erzeugt.
+     *
+     * @param op Der Operator (muss threadsicher sein, z.B. ohne Zustand).
+     * @param a Linke Operanden.
+     * @param b Rechte Operanden (gleiche L&auml;nge wie a).
+     * @param dest Ziel (gleiche L&auml;nge wie a), oder null f&uuml;r ein neues
+     *             Array. Darf a oder b sein.
+     * @return Das Ziel-Array.
+     */
+    public static double[] applyParallel(DoubleOperator op, double[] a, double[] b, double[] dest)
+    {
+        if (dest == null) {
+            dest = new double[a.length];
+        }
+        checkLength(a.length, b.length, dest.length);
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int chunk = chunkSize(a.length, pool.getParallelism());
+        if (chunk >= a.length) {
+            apply(op, a, 0, b, 0, dest, 0, a.length);
+        } else {
+            pool.invoke(new ApplyTask(op, a, b, 0.0, dest, 0, a.length, chunk));
+        }
+        return dest;
+    }
+
+    /**
+     * Wie <tt>apply(op, a, b, dest)</tt> mit einem Operanden f&uuml;r alle
+     * Elemente, jedoch auf mehrere Threads verteilt (siehe oben).
+     *
+     * @param op Der Operator (muss threadsicher sein, z.B. ohne Zustand).
+     * @param a Linke Operanden.
+     * @param b Rechter Operand f&uuml;r alle Elemente.
+     * @param dest Ziel (gleiche L&auml;nge wie a), oder null f&uuml;r ein neues
+     *             Array. Darf a sein.
+     * @return Das Ziel-Array.
+     */
+    public static double[] applyParallel(DoubleOperator op, double[] a, double b, double[] dest)
+    {
+        if (dest == null) {
+            dest = new double[a.length];
+        }
+        checkLength(a.length, a.length, dest.length);
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int chunk = chunkSize(a.length, pool.getParallelism());
+        if (chunk >= a.length) {
+            apply(op, a, 0, b, dest, 0, a.length);
+        } else {
+            pool.invoke(new ApplyTask(op, a, null, b, dest, 0, a.length, chunk));
+        }
+        return dest;
+    }
+
+    // Abschnittslaenge: etwa 4 Aufgaben je Thread, mindestens MIN_CHUNK
+    static int chunkSize(int n, int threads)
+    {
+        if (threads <= 1) {
+            return n;
+        }
+        return Math.max(MIN_CHUNK, n / (4 * threads) + 1);
+    }
+
+    // Berechnet den Bereich [from, to), bei Bedarf in zwei Haelften
+    private static final class ApplyTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final DoubleOperator op;
+        private final double[] a, b, dest; // b == null: skalarer Operand
+        private final double skalar; // Operand, wenn b == null
+        private final int from, to, chunk;
+
+        ApplyTask(DoubleOperator op, double[] a, double[] b, double skalar, double[] dest,
+                  int from, int to, int chunk)
+        {
+            this.op = op;
+            this.a = a;
+            this.b = b;
+            this.skalar = skalar;
+            this.dest = dest;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        protected void compute()
+        {
+            if (to - from <= chunk) {
+                if (b != null) {
+                    apply(op, a, from, b, from, dest, from, to - from);
+                } else {
+                    apply(op, a, from, skalar, dest, from, to - from);
+                }
+                return;
+            }
+            int mitte = (from + to) >>> 1;
+            invokeAll(new ApplyTask(op, a, b, skalar, dest, from, mitte, chunk),
+                      new ApplyTask(op, a, b, skalar, dest, mitte, to, chunk));
+        }
+    }
+
+    private static void checkLength(int a, int b, int dest)
+    {
+        if (a != b || a != dest) {
+            throw new IllegalArgumentException("Laengen passen nicht: " + a + ", " + b + ", " + dest);
+        }
+    }
+
+    private static void checkRange(int length, int from, int n)
+    {
+        if (from < 0 || n < 0 || from > length - n) {
+            throw new IndexOutOfBoundsException("Bereich " + from + ".." + (from + n)
+                                                + " (Laenge: " + length + ")");
+        }
+    }
+}
@@ -0,0 +1,471 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse Ausdruck
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Arithmetische Ausdruecke: einmal uebersetzen, oft auswerten
+ * 2026-10-18 Verschachtelungstiefe begrenzt (MAX_TIEFE), lange Summen und
+ *            Produkte ohne Rekursion uebersetzen
+ * ==================================================================
+ */
+import java.util.*;
+
+/**
+ * Ein arithmetischer Ausdruck mit Variablen, z.B. <tt>"2 * (x + 1) ^ 2 - y / 3"</tt>.
+ * <p>
+ * Der Text wird einmal zerlegt (Syntaxbaum) und dann in ein Programm
+ * f&uuml;r einen Stapelrechner &uuml;bersetzt (umgekehrte polnische Notation).
+ * Teilausdr&uuml;cke ohne Variablen werden dabei bereits ausgerechnet. Das
+ * Auswerten mit neuen Variablenwerten durchl&auml;uft nur noch dieses
+ * Programm und erzeugt keine Objekte:
+ * <pre>
+ *     Ausdruck f = Ausdruck.compile("a * x^2 + b * x + c");
+ *     double[] werte = new double[f.variables().length]; // a, x, b, c
+ *     double[] stapel = new double[f.stackSize()];
+ *
+ *     for (...) {
+ *         werte[1] = ...;
+ *         double y = f.evaluate(werte, stapel);
+ *     }
+ * </pre>
+ * Grammatik (Vorrang von oben nach unten steigend):
+ * <pre>
+ *     summe   = produkt { ("+" | "-") produkt }
+ *     produkt = vorz { ("*" | "/") vorz }
+ *     vorz    = ("+" | "-") vorz | potenz
+ *     potenz  = wert [ "^" vorz ]              (rechtsassoziativ)
+ *     wert    = Zahl | Variable | "(" summe ")"
+ * </pre>
+ * Zahlen wie in Java (<tt>12</tt>, <tt>0.5</tt>, <tt>1e-3</tt>), Variablen
+ * beginnen mit einem Buchstaben oder <tt>_</tt>. Wie &uuml;blich ist
+ * <tt>-x^2 = -(x^2)</tt>.
+ * <p>
+ * Klammern und Potenzen d&uuml;rfen h&ouml;chstens <tt>MAX_TIEFE</tt> Ebenen
+ * tief verschachtelt sein; tiefere Ausdr&uuml;cke werden wie ein Syntaxfehler
+ * abgewiesen. Summen und Produkte d&uuml;rfen beliebig lang sein.
+ * <p>
+ * Ein Ausdruck ist unver&auml;nderlich und kann aus mehreren Threads
+ * ausgewertet werden, sofern jeder Thread einen eigenen Stapel benutzt.
+ */
+public final class Ausdruck
+{
+    // Befehle des Stapelrechners
+    private static final byte CONST = 0, VAR = 1, ADD = 2, SUB = 3, MUL = 4, DIV = 5,
+                              POW = 6, NEG = 7, SQR = 8;
+
+    /** Maximale Verschachtelungstiefe von Klammern und Potenzen. */
+    public static final int MAX_TIEFE = 100;
+
+    private final String text;
+    private final byte[] code; // Befehle
+    private final int[] arg; // Argument je Befehl (Index in konstanten bzw. Variablen)
+    private final double[] konstanten;
+    private final String[] variablen;
+    private final int stapel; // Benoetigte Stapeltiefe
+
+    private Ausdruck(String text, byte[] code, int[] arg, double[] konstanten,
+                     String[] variablen, int stapel)
+    {
+        this.text = text;
+        this.code = code;
+        this.arg = arg;
+        this.konstanten = konstanten;
+        this.variablen = variablen;
+        this.stapel = stapel;
+    }
+
+    /**
+     * &Uuml;bersetzt einen Ausdruck.
+     *
+     * @param text Der Ausdruck.
+     * @return Der &uuml;bersetzte Ausdruck.
+     * @throws IllegalArgumentException bei einem Syntaxfehler.
+     */
+    public static Ausdruck compile(String text)
+    {
+        Parser p = new Parser(text);
+        Knoten baum = p.summe();
+
+        p.leer();
+        if (p.pos < text.length()) {
+            throw p.fehler("Unerwartetes Zeichen '" + text.charAt(p.pos) + "'");
+        }
+
+        Programm prog = new Programm();
+        baum.emit(prog, p.variablen);
+        return new Ausdruck(text, Arrays.copyOf(prog.code, prog.n), Arrays.copyOf(prog.arg, prog.n),
+                            prog.konstanten.stream().mapToDouble(Double::doubleValue).toArray(),
+                            p.variablen.toArray(new String[0]), prog.max);
+    }
+
+    /**
+     * @return Die Variablennamen in der Reihenfolge ihres ersten Auftretens.
+     *         Diese Reihenfolge gilt f&uuml;r das Array <tt>vars</tt> von
+     *         <tt>evaluate()</tt>.
+     */
+    public String[] variables() { return variablen.clone(); }
+
+    /**
+     * @return Die ben&ouml;tigte L&auml;nge des Stapels f&uuml;r <tt>evaluate()</tt>.
+     */
+    public int stackSize() { return stapel; }
+
+    /**
+     * Wertet den Ausdruck aus, ohne Objekte zu erzeugen.
+     *
+     * @param vars Die Variablenwerte (Reihenfolge wie <tt>variables()</tt>).
+     * @param stack Arbeitsspeicher mit mindestens <tt>stackSize()</tt> Elementen.
+     * @return Der Wert des Ausdrucks.
+     */
+    public double evaluate(double[] vars, double[] stack)
+    {
+        int sp = -1;
+
+        for (int pc = 0; pc < code.length; pc++) {
+            switch (code[pc]) {
+                case CONST: stack[++sp] = konstanten[arg[pc]]; break;
+                case VAR:   stack[++sp] = vars[arg[pc]]; break;
+                case ADD:   sp--; stack[sp] += stack[sp + 1]; break;
+                case SUB:   sp--; stack[sp] -= stack[sp + 1]; break;
+                case MUL:   sp--; stack[sp] *= stack[sp + 1]; break;
+                case DIV:   sp--; stack[sp] /= stack[sp + 1]; break;
+                case POW:   sp--; stack[sp] = Math.pow(stack[sp], stack[sp + 1]); break;
+                case NEG:   stack[sp] = -stack[sp]; break;
+                case SQR:   stack[sp] *= stack[sp]; break;
+                default:    throw new IllegalStateException("Befehl " + code[pc]);
+            }
+        }
+        return stack[0];
+    }
+
+    /**
+     * Wertet den Ausdruck aus (mit einem neuen Stapel).
+     *
+     * @param vars Die Variablenwerte (Reihenfolge wie <tt>variables()</tt>).
+     * @return Der Wert des Ausdrucks.
+     */
+    public double evaluate(double... vars)
+    {
+        return evaluate(vars, new double[stapel]);
+    }
+
+    /**
+     * @return Der Text des Ausdrucks.
+     */
+    public String toString() { return text; }
+
+// ===============================================================
+// ==== SYNTAX TREE SECTION ======================================
+// ===============================================================
+
+    private abstract static class Knoten
+    {
+        // Wert, wenn der Teilbaum keine Variablen enthaelt, sonst null.
+        // Wird beim Erzeugen berechnet, damit das Falten linear bleibt.
+        final Double konstant;
+
+        Knoten(Double konstant) { this.konstant = konstant; }
+
+        abstract void emit(Programm p, List<String> variablen);
+    }
+
+    private static final class Zahl extends Knoten
+    {
+        Zahl(double wert) { super(wert); }
+
+        void emit(Programm p, List<String> variablen) { p.konstante(konstant); }
+    }
+
+    private static final class Variable extends Knoten
+    {
+        final String name;
+
+        Variable(String name)
+        {
+            super(null);
+            this.name = name;
+        }
+
+        void emit(Programm p, List<String> variablen) { p.add(VAR, variablen.indexOf(name), 1); }
+    }
+
+    private static final class Negation extends Knoten
+    {
+        final Knoten x;
+
+        Negation(Knoten x)
+        {
+            super(x.konstant == null ? null : -x.konstant);
+            this.x = x;
+        }
+
+        void emit(Programm p, List<String> variablen)
+        {
+            if (konstant != null) {
+                p.konstante(konstant);
+                return;
+            }
+            x.emit(p, variablen);
+            p.add(NEG, 0, 0);
+        }
+    }
+
+    private static final class Binaer extends Knoten
+    {
+        final byte op;
+        final Knoten links, rechts;
+
+        Binaer(byte op, Knoten links, Knoten rechts)
+        {
+            super(falte(op, links.konstant, rechts.konstant));
+            this.op = op;
+            this.links = links;
+            this.rechts = rechts;
+        }
+
+        private static Double falte(byte op, Double a, Double b)
+        {
+            if (a == null || b == null) {
+                return null;
+            }
+            switch (op) {
+                case ADD: return a + b;
+                case SUB: return a - b;
+                case MUL: return a * b;
+                case DIV: return a / b;
+                default:  return Math.pow(a, b);
+            }
+        }
+
+        /*
+         * Lange Summen und Produkte ("1+2+...") bilden einen nach links
+         * tiefen Baum. Der linke Ast wird daher in einer Schleife statt
+         * rekursiv durchlaufen; rekursiv sind nur die rechten Operanden,
+         * deren Tiefe der Parser begrenzt.
+         */
+        void emit(Programm p, List<String> variablen)
+        {
+            ArrayList<Binaer> ast = new ArrayList<Binaer>();
+            Knoten x = this;
+            while (x instanceof Binaer && x.konstant == null) {
+                ast.add((Binaer) x);
+                x = ((Binaer) x).links;
+            }
+            if (ast.isEmpty()) {
+                p.konstante(konstant);
+                return;
+            }
+            x.emit(p, variablen);
+            for (int i = ast.size() - 1; i >= 0; i--) {
+                Binaer b = ast.get(i);
+                if (b.op == POW && Double.valueOf(2.0).equals(b.rechts.konstant)) {
+                    p.add(SQR, 0, 0); // x^2 = x * x
+                    continue;
+                }
+                b.rechts.emit(p, variablen);
+                p.add(b.op, 0, -1);
+            }
+        }
+    }
+
+    // Das entstehende Programm
+    private static final class Programm
+    {
+        byte[] code = new byte[16];
+        int[] arg = new int[16];
+        int n = 0; // Anzahl Befehle
+        int tiefe = 0, max = 1; // Aktuelle und maximale Stapeltiefe
+        final ArrayList<Double> konstanten = new ArrayList<Double>();
+
+        void konstante(double wert)
+        {
+            add(CONST, konstanten.size(), 1);
+            konstanten.add(wert);
+        }
+
+        void add(byte befehl, int argument, int stapel)
+        {
+            if (n == code.length) {
+                code = Arrays.copyOf(code, 2 * n);
+                arg = Arrays.copyOf(arg, 2 * n);
+            }
+            code[n] = befehl;
+            arg[n++] = argument;
+            tiefe += stapel;
+            max = Math.max(max, tiefe);
+        }
+    }
+
+// ===============================================================
+// ==== PARSER SECTION ===========================================
+// ===============================================================
+
+    private static final class Parser
+    {
+        final String s;
+        int pos = 0;
+        int tiefe = 0; // Aktuelle Verschachtelungstiefe
+        final ArrayList<String> variablen = new ArrayList<String>();
+
+        Parser(String s) { this.s = s; }
+
+        // summe = produkt { ("+" | "-") produkt }
+        Knoten summe()
+        {
+            Knoten x = produkt();
+            while (true) {
+                if (zeichen('+')) {
+                    x = new Binaer(ADD, x, produkt());
+                } else if (zeichen('-')) {
+                    x = new Binaer(SUB, x, produkt());
+                } else {
+                    return x;
+                }
+            }
+        }
+
+        // produkt = vorz { ("*" | "/") vorz }
+        Knoten produkt()
+        {
+            Knoten x = vorz();
+            while (true) {
+                if (zeichen('*')) {
+                    x = new Binaer(MUL, x, vorz());
+                } else if (zeichen('/')) {
+                    x = new Binaer(DIV, x, vorz());
+                } else {
+                    return x;
+                }
+            }
+        }
+
+        // vorz = ("+" | "-") vorz | potenz
+        // (ohne Rekursion: -(-x) ist exakt x, es zaehlt nur eine ungerade
+        // Anzahl von Minuszeichen)
+        Knoten vorz()
+        {
+            boolean negativ = false;
+            while (true) {
+                if (zeichen('-')) {
+                    negativ = !negativ;
+                } else if (!zeichen('+')) {
+                    break;
+                }
+            }
+            Knoten x = potenz();
+            return negativ ? new Negation(x) : x;
+        }
+
+        // potenz = wert [ "^" vorz ]
+        Knoten potenz()
+        {
+            Knoten x = wert();
+            if (zeichen('^')) {
+                tiefer();
+                Knoten y = vorz();
+                tiefe--;
+                return new Binaer(POW, x, y);
+            }
+            return x;
+        }
+
+        // wert = Zahl | Variable | "(" summe ")"
+        Knoten wert()
+        {
+            leer();
+            if (pos >= s.length()) {
+                throw fehler("Ausdruck unvollstaendig");
+            }
+            char c = s.charAt(pos);
+
+            if (c == '(') {
+                tiefer();
+                pos++;
+                Knoten x = summe();
+                if (!zeichen(')')) {
+                    throw fehler("')' erwartet");
+                }
+                tiefe--;
+                return x;
+            }
+            if (Character.isLetter(c) || c == '_') {
+                int start = pos;
+                while (pos < s.length()
+                       && (Character.isLetterOrDigit(s.charAt(pos)) || s.charAt(pos) == '_')) {
+                    pos++;
+                }
+                String name = s.substring(start, pos);
+                if (!variablen.contains(name)) {
+                    variablen.add(name);
+                }
+                return new Variable(name);
+            }
+            if ((c >= '0' && c <= '9') || c == '.') {
+                return new Zahl(zahl());
+            }
+            throw fehler("Unerwartetes Zeichen '" + c + "'");
+        }
+
+        // Ziffern [. Ziffern] [(e|E) [+-] Ziffern]
+        double zahl()
+        {
+            int start = pos;
+            while (pos < s.length() && (Character.isDigit(s.charAt(pos)) || s.charAt(pos) == '.')) {
+                pos++;
+            }
+            if (pos < s.length() && (s.charAt(pos) == 'e' || s.charAt(pos) == 'E')) {
+                int e = pos++;
+                if (pos < s.length() && (s.charAt(pos) == '+' || s.charAt(pos) == '-')) {
+                    pos++;
+                }
+                if (pos >= s.length() || !Character.isDigit(s.charAt(pos))) {
+                    pos = e; // kein Exponent: "e" gehoert nicht zur Zahl
+                }
+                while (pos < s.length() && Character.isDigit(s.charAt(pos))) {
+                    pos++;
+                }
+            }
+            try {
+                return Double.parseDouble(s.substring(start, pos));
+            }
+            catch (NumberFormatException e) {
+                pos = start;
+                throw fehler("Ungueltige Zahl");
+            }
+        }
+
+        // Leerzeichen ueberlesen und ggf. das Zeichen c verbrauchen
+        boolean zeichen(char c)
+        {
+            leer();
+            if (pos < s.length() && s.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void leer()
+        {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        // Eine Ebene tiefer (Klammer, Exponent); hoechstens MAX_TIEFE
+        void tiefer()
+        {
+            if (++tiefe > MAX_TIEFE) {
+                throw fehler("Ausdruck zu tief verschachtelt (mehr als " + MAX_TIEFE + " Ebenen)");
+            }
+        }
+
+        IllegalArgumentException fehler(String meldung)
+        {
+            String text = s.length() <= 80 ? s : s.substring(0, 77) + "...";
+            return new IllegalArgumentException(meldung + " an Position " + (pos + 1) + ": " + text);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse AusdruckCache
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Zwischenspeicher fuer uebersetzte Ausdruecke (LRU)
+ * ==================================================================
+ */
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+/**
+ * Zwischenspeicher f&uuml;r &uuml;bersetzte Ausdr&uuml;cke. Wird derselbe
+ * Ausdruck erneut angefordert, entf&auml;llt das Zerlegen und &Uuml;bersetzen.
+ * <p>
+ * Schl&uuml;ssel ist der normalisierte Text: Leerzeichen werden entfernt,
+ * soweit sie die Bedeutung nicht &auml;ndern (<tt>"x + 1"</tt> und
+ * <tt>"x+1"</tt> sind derselbe Eintrag). Es werden h&ouml;chstens
+ * <tt>max</tt> Ausdr&uuml;cke aufbewahrt; ist der Speicher voll, wird der
+ * am l&auml;ngsten nicht benutzte entfernt (LRU).
+ * <p>
+ * Der Zwischenspeicher darf von mehreren Threads gleichzeitig benutzt
+ * werden. Das &Uuml;bersetzen erfolgt au&szlig;erhalb der Sperre.
+ */
+public final class AusdruckCache
+{
+    private final int max; // Maximale Anzahl Eintraege
+    private final LinkedHashMap<String, Ausdruck> eintraege;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param max Maximale Anzahl aufbewahrter Ausdr&uuml;cke.
+     */
+    public AusdruckCache(int max)
+    {
+        if (max < 1) {
+            throw new IllegalArgumentException("Groesse muss positiv sein: " + max);
+        }
+        this.max = max;
+        this.eintraege = new LinkedHashMap<String, Ausdruck>(16, 0.75f, true) {
+            protected boolean removeEldestEntry(Map.Entry<String, Ausdruck> e) {
+                return size() > AusdruckCache.this.max;
+            }
+        };
+    }
+
+    /**
+     * Liefert den &uuml;bersetzten Ausdruck, aus dem Zwischenspeicher oder
+     * neu &uuml;bersetzt.
+     *
+     * @param text Der Ausdruck.
+     * @return Der &uuml;bersetzte Ausdruck.
+     * @throws IllegalArgumentException bei einem Syntaxfehler (wird nicht
+     *         gespeichert).
+     */
+    public Ausdruck get(String text)
+    {
+        String key = normalize(text);
+        Ausdruck a;
+
+        lock.lock();
+        try {
+            a = eintraege.get(key);
+        }
+        finally {
+            lock.unlock();
+        }
+        if (a != null) {
+            hits.incrementAndGet();
+            return a;
+        }
+
+        misses.incrementAndGet();
+        a = Ausdruck.compile(key);
+        lock.lock();
+        try {
+            Ausdruck vorhanden = eintraege.putIfAbsent(key, a);
+            return vorhanden != null ? vorhanden : a;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Anzahl der Anfragen, die aus dem Zwischenspeicher bedient wurden.
+     */
+    public long hits() { return hits.get(); }
+
+    /**
+     * @return Anzahl der Anfragen, f&uuml;r die &uuml;bersetzt werden musste.
+     */
+    public long misses() { return misses.get(); }
+
+    /**
+     * @return Anzahl der aufbewahrten Ausdr&uuml;cke.
+     */
+    public int size()
+    {
+        lock.lock();
+        try {
+            return eintraege.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Entfernt alle Ausdr&uuml;cke (die Z&auml;hler bleiben erhalten).
+     */
+    public void clear()
+    {
+        lock.lock();
+        try {
+            eintraege.clear();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Entfernt Leerzeichen. Ein Leerzeichen bleibt (einmal) stehen, wenn
+     * es zwei Namen bzw. Zahlen trennt ("a b") oder ein 'e' von einem
+     * Vorzeichen ("1e -3"); ohne es wuerde ein anderer Ausdruck entstehen.
+     */
+    static String normalize(String text)
+    {
+        StringBuilder sb = null;
+        int n = text.length();
+
+        for (int i = 0; i < n; i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                if (sb != null) {
+                    sb.append(c);
+                }
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(n).append(text, 0, i);
+            }
+            int j = i;
+            while (j + 1 < n && Character.isWhitespace(text.charAt(j + 1))) {
+                j++;
+            }
+            if (sb.length() > 0 && j + 1 < n) {
+                char vor = sb.charAt(sb.length() - 1);
+                char nach = text.charAt(j + 1);
+                if ((isWordChar(vor) && isWordChar(nach))
+                    || ((vor == 'e' || vor == 'E') && (nach == '+' || nach == '-'))) {
+                    sb.append(' ');
+                }
+            }
+            i = j;
+        }
+        return sb == null ? text : sb.toString();
+    }
+
+    private static boolean isWordChar(char c)
+    {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.';
+    }
+}
@@ -2,6 +2,9 @@
 /**
  * Interface Operator
  * 
+ * Das Ergebnis wird auf int abgeschnitten. Der Rechner benutzt stattdessen
+ * DoubleOperator (bzw. LongOperator, DecimalOperator).
+ * 
  * @author Malte Nagel, Prof. Dr.-Ing. Emre Cakar
  * @FunctionalInterface
  */
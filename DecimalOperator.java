@@ -0,0 +1,19 @@
+import java.math.*;
+
+/**
+ * Interface DecimalOperator
+ * 
+ * Ein Operator mit zwei exakten Dezimalzahlen (BigDecimal). Addition,
+ * Subtraktion und Multiplikation sind exakt; die Division rundet auf 34
+ * signifikante Stellen (MathContext.DECIMAL128).
+ */
+@FunctionalInterface
+public interface DecimalOperator
+{
+    DecimalOperator ADD = BigDecimal::add;
+    DecimalOperator SUB = BigDecimal::subtract;
+    DecimalOperator MUL = BigDecimal::multiply;
+    DecimalOperator DIV = (a, b) -> a.divide(b, MathContext.DECIMAL128);
+
+    BigDecimal calculate(BigDecimal a, BigDecimal b);
+}
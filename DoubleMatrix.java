@@ -0,0 +1,197 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse DoubleMatrix
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Ergebnistyp von JConsole.readMatrix(): alle Werte in einem
+ *            zusammenhaengenden Array, spaltenweise abgelegt
+ * ==================================================================
+ */
+import java.nio.*;
+
+/**
+ * Eine Matrix vom Datentyp double, deren Werte in einem einzigen Array
+ * <b>spaltenweise</b> abgelegt sind: Zuerst alle Werte der Spalte 0, dann alle
+ * Werte der Spalte 1 usw.
+ * <p>
+ * Im Gegensatz zu <tt>double[][]</tt> gibt es kein eigenes Objekt je Zeile.
+ * Die Werte einer Spalte liegen direkt hintereinander im Speicher, so dass
+ * Berechnungen &uuml;ber eine Spalte (Summe, Mittelwert, ...) sehr schnell sind:
+ * <pre>
+ *     DoubleMatrix a = fenster.readMatrix("messung.txt");
+ *     double[] werte = a.data();
+ *     double summe = 0;
+ *
+ *     for (int i = a.offset(1); i &lt; a.offset(1) + a.rows(); i++)
+ *         summe += werte[i];
+ * </pre>
+ */
+public final class DoubleMatrix
+{
+    private final double[] data; // Alle Werte, spaltenweise
+    private final int rows; // Zeilenanzahl
+    private final int cols; // Spaltenanzahl
+
+    /**
+     * Erzeugt eine Matrix mit lauter Nullen.
+     *
+     * @param rows Die Zeilenanzahl.
+     * @param cols Die Spaltenanzahl.
+     */
+    public DoubleMatrix(int rows, int cols)
+    {
+        this(new double[Math.multiplyExact(rows, cols)], rows, cols);
+    }
+
+    /**
+     * Erzeugt eine Matrix &uuml;ber einem vorhandenen Array (ohne Kopie).
+     *
+     * @param data Die Werte, spaltenweise abgelegt.
+     * @param rows Die Zeilenanzahl.
+     * @param cols Die Spaltenanzahl.
+     */
+    public DoubleMatrix(double[] data, int rows, int cols)
+    {
+        if (rows < 0 || cols < 0 || data.length != (long) rows * cols) {
+            throw new IllegalArgumentException("Groesse passt nicht: " + data.length
+                                               + " != " + rows + " x " + cols);
+        }
+        this.data = data;
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * @return Die Zeilenanzahl.
+     */
+    public int rows() { return rows; }
+
+    /**
+     * @return Die Spaltenanzahl.
+     */
+    public int columns() { return cols; }
+
+    /**
+     * Das Array mit allen Werten (spaltenweise, keine Kopie!).
+     * Der Wert in Zeile i, Spalte j steht in <tt>data()[offset(j) + i]</tt>.
+     *
+     * @return Das Array der Matrix.
+     */
+    public double[] data() { return data; }
+
+    /**
+     * Index des ersten Wertes der Spalte j in <tt>data()</tt>.
+     *
+     * @param j Die Spalte.
+     * @return Der Index.
+     */
+    public int offset(int j)
+    {
+        checkColumn(j);
+        return j * rows;
+    }
+
+    /**
+     * Liefert den Wert in Zeile i und Spalte j.
+     *
+     * @param i Die Zeile.
+     * @param j Die Spalte.
+     * @return Der Wert.
+     */
+    public double get(int i, int j)
+    {
+        checkRow(i);
+        return data[offset(j) + i];
+    }
+
+    /**
+     * Setzt den Wert in Zeile i und Spalte j.
+     *
+     * @param i Die Zeile.
+     * @param j Die Spalte.
+     * @param value Der neue Wert.
+     */
+    public void set(int i, int j, double value)
+    {
+        checkRow(i);
+        data[offset(j) + i] = value;
+    }
+
+    /**
+     * Sicht auf die Spalte j (keine Kopie). &Auml;nderungen &uuml;ber den
+     * Puffer ver&auml;ndern die Matrix.
+     *
+     * @param j Die Spalte.
+     * @return Ein DoubleBuffer mit den Werten der Spalte.
+     */
+    public DoubleBuffer column(int j)
+    {
+        return DoubleBuffer.wrap(data, offset(j), rows).slice();
+    }
+
+    /**
+     * Kopiert die Spalte j in ein neues Array.
+     *
+     * @param j Die Spalte.
+     * @return Die Werte der Spalte.
+     */
+    public double[] getColumn(int j)
+    {
+        double[] c = new double[rows];
+
+        System.arraycopy(data, offset(j), c, 0, rows);
+        return c;
+    }
+
+    /**
+     * Kopiert die Zeile i in ein Array.
+     *
+     * @param i Die Zeile.
+     * @param dest Ziel-Array der L&auml;nge <tt>columns()</tt>, oder null
+     *             f&uuml;r ein neues Array.
+     * @return Die Werte der Zeile.
+     */
+    public double[] getRow(int i, double[] dest)
+    {
+        checkRow(i);
+        if (dest == null) {
+            dest = new double[cols];
+        }
+        for (int j = 0, k = i; j < cols; j++, k += rows) {
+            dest[j] = data[k];
+        }
+        return dest;
+    }
+
+    /**
+     * Wandelt die Matrix in ein zweidimensionales Array um, wie es
+     * readArray() liefert.
+     *
+     * @return Das Array a[Zeile][Spalte].
+     */
+    public double[][] toArray()
+    {
+        double[][] a = new double[rows][];
+
+        for (int i = 0; i < rows; i++) {
+            a[i] = getRow(i, null);
+        }
+        return a;
+    }
+
+    private void checkRow(int i)
+    {
+        if (i < 0 || i >= rows) {
+            throw new IndexOutOfBoundsException("Zeile " + i + " (Zeilen: " + rows + ")");
+        }
+    }
+
+    private void checkColumn(int j)
+    {
+        if (j < 0 || j >= cols) {
+            throw new IndexOutOfBoundsException("Spalte " + j + " (Spalten: " + cols + ")");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * Interface DoubleOperator
+ * 
+ * Ein Operator mit zwei Operanden vom Datentyp double. Im Gegensatz zu
+ * BiFunction wird weder auf int gerundet noch ein Wert verpackt (boxing).
+ */
+@FunctionalInterface
+public interface DoubleOperator
+{
+    DoubleOperator ADD = (a, b) -> a + b;
+    DoubleOperator SUB = (a, b) -> a - b;
+    DoubleOperator MUL = (a, b) -> a * b;
+    DoubleOperator DIV = (a, b) -> a / b;
+
+    double calculate(double a, double b);
+}
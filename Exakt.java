@@ -0,0 +1,261 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse Exakt
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Exakte Zahlen: long, bei Ueberlauf bzw. Nachkommastellen BigDecimal
+ * 2026-10-18 Rechnen ueber LongOperator und DecimalOperator
+ * 2026-10-18 valueOf(String): Anzahl der Stellen begrenzt (z.B. kein 1e999999999)
+ * ==================================================================
+ */
+import java.math.*;
+
+/**
+ * Eine exakte Zahl f&uuml;r den exakten Modus des Rechners.
+ * <p>
+ * Ganze Zahlen im Bereich von long werden als long gespeichert und auch so
+ * berechnet (mit LongOperator, also <tt>Math.addExact()</tt> usw.). Erst
+ * wenn ein Ergebnis nicht mehr in long passt oder Nachkommastellen hat,
+ * wird mit BigDecimal (DecimalOperator) gerechnet. Ist ein BigDecimal-Ergebnis wieder eine ganze Zahl im Bereich
+ * von long, wird es wieder als long gespeichert. Addition, Subtraktion und
+ * Multiplikation sind immer exakt; nur die Division rundet, wenn das
+ * Ergebnis keine endliche Dezimalzahl ist (z.B. 1/3), und zwar nach dem
+ * angegebenen MathContext.
+ * <p>
+ * Objekte f&uuml;r kleine ganze Zahlen (-128 bis 1023) werden
+ * wiederverwendet. Objekte dieser Klasse sind unver&auml;nderlich.
+ */
+public final class Exakt extends Number implements Comparable<Exakt>
+{
+    private static final long serialVersionUID = 1L;
+
+    /** Die Null. */
+    public static final Exakt ZERO = new Exakt(0L, null);
+
+    // Wiederverwendete Objekte fuer kleine ganze Zahlen
+    private static final int POOL_MIN = -128, POOL_MAX = 1023;
+    private static final Exakt[] POOL = new Exakt[POOL_MAX - POOL_MIN + 1];
+    static {
+        for (int i = 0; i < POOL.length; i++) {
+            POOL[i] = i + POOL_MIN == 0 ? ZERO : new Exakt(i + POOL_MIN, null);
+        }
+    }
+
+    /** Standardgrenze f&uuml;r die Stellen in valueOf(String). */
+    public static final int MAX_STELLEN = 10000;
+
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private final long wert; // Der Wert, wenn big == null
+    private final BigDecimal big; // Der Wert, wenn er nicht in long passt
+
+    private Exakt(long wert, BigDecimal big)
+    {
+        this.wert = wert;
+        this.big = big;
+    }
+
+    /**
+     * @param wert Eine ganze Zahl.
+     * @return Die exakte Zahl.
+     */
+    public static Exakt valueOf(long wert)
+    {
+        if (wert >= POOL_MIN && wert <= POOL_MAX) {
+            return POOL[(int) wert - POOL_MIN];
+        }
+        return new Exakt(wert, null);
+    }
+
+    /**
+     * @param wert Eine Dezimalzahl.
+     * @return Die exakte Zahl.
+     */
+    public static Exakt valueOf(BigDecimal wert)
+    {
+        if (wert.signum() == 0) {
+            return ZERO;
+        }
+        if (wert.scale() <= 0 || wert.stripTrailingZeros().scale() <= 0) {
+            if (wert.compareTo(LONG_MIN) >= 0 && wert.compareTo(LONG_MAX) <= 0) {
+                return valueOf(wert.longValueExact());
+            }
+        }
+        return new Exakt(0L, wert);
+    }
+
+    /**
+     * Liest eine Zahl in der Schreibweise von BigDecimal, z.B. <tt>"12"</tt>,
+     * <tt>"-0.1"</tt> oder <tt>"1e30"</tt>, mit h&ouml;chstens
+     * <tt>MAX_STELLEN</tt> Stellen vor bzw. nach dem Komma.
+     *
+     * @param text Die Zahl.
+     * @return Die exakte Zahl.
+     * @throws NumberFormatException wenn der Text keine Zahl ist oder zu
+     *         viele Stellen hat.
+     */
+    public static Exakt valueOf(String text)
+    {
+        return valueOf(text, MAX_STELLEN);
+    }
+
+    /**
+     * Wie <tt>valueOf(text)</tt>, die Zahl darf jedoch h&ouml;chstens
+     * <tt>maxStellen</tt> Stellen vor und h&ouml;chstens <tt>maxStellen</tt>
+     * Stellen nach dem Komma haben. Ohne diese Grenze w&uuml;rde z.B.
+     * <tt>1e999999999 + 1</tt> eine Zahl mit einer Milliarde Stellen
+     * erzeugen.
+     *
+     * @param text Die Zahl.
+     * @param maxStellen Maximale Anzahl der Stellen vor bzw. nach dem Komma.
+     * @return Die exakte Zahl.
+     * @throws NumberFormatException wenn der Text keine Zahl ist oder zu
+     *         viele Stellen hat.
+     */
+    public static Exakt valueOf(String text, int maxStellen)
+    {
+        String s = text.trim();
+        int n = s.length();
+
+        // Schneller Pfad: hoechstens 18 Ziffern passen immer in long
+        int i = n > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+') ? 1 : 0;
+        if (n > i && n - i <= 18) {
+            long v = 0;
+            int k = i;
+            while (k < n && s.charAt(k) >= '0' && s.charAt(k) <= '9') {
+                v = 10 * v + (s.charAt(k++) - '0');
+            }
+            if (k == n) {
+                return valueOf(s.charAt(0) == '-' ? -v : v);
+            }
+        }
+        BigDecimal b = new BigDecimal(s);
+        long vorkomma = (long) b.precision() - b.scale(); // Stellen vor dem Komma
+        if (vorkomma > maxStellen || b.scale() > maxStellen) {
+            throw new NumberFormatException("Zu viele Stellen (max. " + maxStellen + "): " + text);
+        }
+        return valueOf(b);
+    }
+
+    /**
+     * @return true, wenn der Wert als long gespeichert ist.
+     */
+    public boolean isLong() { return big == null; }
+
+    /**
+     * @return Der Wert als BigDecimal.
+     */
+    public BigDecimal toBigDecimal()
+    {
+        return big != null ? big : BigDecimal.valueOf(wert);
+    }
+
+    /**
+     * @param o Der zweite Summand.
+     * @return this + o (exakt).
+     */
+    public Exakt add(Exakt o)
+    {
+        return rechne(o, LongOperator.ADD, DecimalOperator.ADD);
+    }
+
+    /**
+     * @param o Der Subtrahend.
+     * @return this - o (exakt).
+     */
+    public Exakt subtract(Exakt o)
+    {
+        return rechne(o, LongOperator.SUB, DecimalOperator.SUB);
+    }
+
+    /**
+     * @param o Der zweite Faktor.
+     * @return this * o (exakt).
+     */
+    public Exakt multiply(Exakt o)
+    {
+        return rechne(o, LongOperator.MUL, DecimalOperator.MUL);
+    }
+
+    /*
+     * Rechnet mit l, wenn beide Zahlen long sind und kein Ueberlauf
+     * auftritt, sonst mit d.
+     */
+    private Exakt rechne(Exakt o, LongOperator l, DecimalOperator d)
+    {
+        if (big == null && o.big == null) {
+            try {
+                return valueOf(l.calculate(wert, o.wert));
+            }
+            catch (ArithmeticException e) {
+                // Ueberlauf: weiter mit BigDecimal
+            }
+        }
+        return valueOf(d.calculate(toBigDecimal(), o.toBigDecimal()));
+    }
+
+    /**
+     * Division. Ist das Ergebnis eine endliche Dezimalzahl, ist es exakt,
+     * sonst wird nach mc gerundet.
+     *
+     * @param o Der Divisor.
+     * @param mc Die Genauigkeit f&uuml;r nicht endliche Ergebnisse.
+     * @return this / o.
+     * @throws ArithmeticException bei Division durch 0.
+     */
+    public Exakt divide(Exakt o, MathContext mc)
+    {
+        if (big == null && o.big == null && o.wert != 0 && wert % o.wert == 0
+            && !(wert == Long.MIN_VALUE && o.wert == -1)) {
+            return valueOf(LongOperator.DIV.calculate(wert, o.wert));
+        }
+        BigDecimal a = toBigDecimal();
+        BigDecimal b = o.toBigDecimal();
+        try {
+            return valueOf(a.divide(b));
+        }
+        catch (ArithmeticException e) {
+            if (b.signum() == 0) {
+                throw e; // Division durch 0
+            }
+            return valueOf(a.divide(b, mc)); // z.B. 1/3
+        }
+    }
+
+    public int compareTo(Exakt o)
+    {
+        if (big == null && o.big == null) {
+            return Long.compare(wert, o.wert);
+        }
+        return toBigDecimal().compareTo(o.toBigDecimal());
+    }
+
+    public boolean equals(Object o)
+    {
+        return o instanceof Exakt && compareTo((Exakt) o) == 0;
+    }
+
+    public int hashCode()
+    {
+        return big == null ? Long.hashCode(wert) : big.stripTrailingZeros().hashCode();
+    }
+
+    public int intValue() { return big == null ? (int) wert : big.intValue(); }
+
+    public long longValue() { return big == null ? wert : big.longValue(); }
+
+    public float floatValue() { return big == null ? (float) wert : big.floatValue(); }
+
+    public double doubleValue() { return big == null ? (double) wert : big.doubleValue(); }
+
+    /**
+     * @return Die Zahl ohne Exponentenschreibweise, z.B. <tt>"0.30"</tt>.
+     */
+    public String toString()
+    {
+        return big == null ? Long.toString(wert) : big.toPlainString();
+    }
+}
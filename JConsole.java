@@ -21,15 +21,36 @@
  *            readFilename(): pfad voranstellen, wenn nicht absoluter Pfad
  * 2012-11-16 pfad auf RZ-Pfade eingestellt (Linux/Windows)
  * 2013-09-15 Uebernahme der Methoden readArray()/readSequence() aus JArrayUtilities
+ * 2026-10-18 readArray()/readSequence(): Lade-Logik in Klasse ArrayLoader,
+ *            Array waechst geometrisch statt zeilenweise (resizeArray entfaellt)
+ * 2026-10-18 neue Methoden: readArrayMapped()/readSequenceMapped()
+ * 2026-10-18 neue Methoden: readArrayParallel()/readSequenceParallel()
+ * 2026-10-18 neue Methoden: forEachRow()/forEachValue()
+ * 2026-10-18 neue Methode: readMatrix() (Ergebnis als DoubleMatrix)
+ * 2026-10-18 neue Methoden: readArrayCached()/readSequenceCached()
+ * 2026-10-18 print(): Ausgaben werden gepuffert und gebuendelt angezeigt
+ * 2026-10-18 neue Methode: setScrollback() (Zeilenanzahl der Anzeige begrenzen)
+ * 2026-10-18 implementiert die Schnittstelle Konsole; alle formatierten
+ *            Ein-/Ausgabe- und Datei-Methoden sind dorthin gewandert
+ * 2026-10-18 Tastendruecke ueber eine Warteschlange (KeyQueue) statt
+ *            wait/notify; schnelles Tippen verliert keine Zeichen mehr
+ * 2026-10-18 Einfuegen (Zwischenablage, Drag&Drop) geht direkt in die Eingabe
+ * 2026-10-18 neue Methode: readLines() (alle bereits eingegebenen Zeilen)
+ * 2026-10-18 kein synchronized mehr (ReentrantLock fuer die Ausgabe)
+ * 2026-10-18 Steuerzeichen wieder wie bisher (Ctrl-A wird ignoriert, alle
+ *            anderen uebernommen); Ctrl-U loescht die Eingabe nicht mehr
+ * 2026-10-18 clear() im Event-Dispatch-Thread (Reihenfolge mit den Ausgaben)
  * ==================================================================
  */
 import java.awt.*;
+import java.awt.datatransfer.*;
 import java.awt.event.*;
 import javax.swing.*;
 import javax.swing.filechooser.*;
 import java.io.*;
 import java.util.*;
-import java.lang.reflect.*;
+import java.util.concurrent.locks.*;
+import java.util.function.*;
 
 /**
  * Diese Klasse &ouml;ffnet ein Fenster, in dem Eingaben vom Benutzer
@@ -52,11 +73,14 @@ import java.lang.reflect.*;
  *     fenster.print(i,8);
  *     fenster.print(umfang,7,3);
  * </pre>
+ * Die formatierten Ein- und Ausgabe-Methoden stammen aus der Schnittstelle
+ * Konsole. Ohne grafische Oberfl&auml;che kann stattdessen eine TextKonsole
+ * benutzt werden (siehe <tt>Konsole.create()</tt>).
  * 
  * @author Prof. Dr. Claus Hentschel
  * @version 2.0 (15.09.2013)
  */
-public class JConsole extends JFrame
+public class JConsole extends JFrame implements Konsole
 {
     private boolean closed = false;
     private JTextArea anzeige; // Anzeigebereich
@@ -145,6 +169,11 @@ public class JConsole extends JFrame
         anzeige.setFont(new Font("Monospaced",Font.PLAIN,12));
         anzeige.setBackground( new Color(219,219,219) );
         anzeige.addKeyListener( new KeyObserver() );
+        anzeige.setTransferHandler( new Einfuegen(anzeige.getTransferHandler()) );
+
+        // Gebuendelte Ausgabe (siehe print())
+        ausgabeTimer = new javax.swing.Timer(AUSGABE_INTERVALL, e -> writeOutput());
+        ausgabeTimer.setRepeats(false);
 
         JScrollPane jsp = new JScrollPane( anzeige );
         cp.add("Center", jsp);
@@ -253,245 +282,124 @@ public class JConsole extends JFrame
     // ==== OUTPUT SECTION (Instanz) =================================
     // ===============================================================
 
+    // Ausgaben werden gesammelt und gebuendelt (hoechstens alle
+    // AUSGABE_INTERVALL ms) im Event-Dispatch-Thread in die TextArea
+    // geschrieben. So kostet ein print() nur das Anhaengen an den Puffer.
+    private static final int AUSGABE_INTERVALL = 33;
+    private final StringBuilder ausgabe = new StringBuilder(); // Noch nicht angezeigter Text
+    private final ReentrantLock ausgabeLock = new ReentrantLock(); // Schuetzt ausgabe
+    private boolean ausgabeGeplant = false; // Timer fuer writeOutput() gestartet?
+    private int loeschenGeplant = 0; // Eingereihte, noch nicht ausgefuehrte clear()
+    private javax.swing.Timer ausgabeTimer;
+
     /**
     * Gibt einen String in der TextArea aus.
-    * <b>Dies ist die Basismethode aller folgenden Methoden!</b>
+    * <b>Dies ist die Basismethode aller Ausgabe-Methoden!</b>
     * @param msg Der Text, der in der TextArea ausgegeben werden soll.
     */
     public void print(String msg) {
-        anzeige.append(msg);
-        anzeige.setCaretPosition(anzeige.getText().length());
+        ausgabeLock.lock();
+        try {
+            ausgabe.append(msg);
+            if (ausgabeGeplant) {
+                return;
+            }
+            ausgabeGeplant = true;
+        }
+        finally {
+            ausgabeLock.unlock();
+        }
+        ausgabeTimer.start();
     }
 
     /**
     * L&ouml;scht das Textfeld. <br>
     */
     public void clear() {
-        anzeige.setText(""); // Anzeigefeld loeschen
-        anzeige.setCaretPosition(anzeige.getText().length());
+        ausgabeLock.lock();
+        try {
+            ausgabe.setLength(0); // Noch nicht angezeigte Ausgaben verwerfen
+            // Unter der Sperre einreihen: ein writeOutput(), das seinen Text
+            // schon geholt hat, laeuft vorher; spaetere Ausgaben zeigt erst
+            // clearOutput() an
+            loeschenGeplant++;
+            SwingUtilities.invokeLater(this::clearOutput);
+        }
+        finally {
+            ausgabeLock.unlock();
+        }
     }
 
-    /**
-    * Gibt einen String in der TextArea aus, dem ein Zeilenwechsel folgt.
-    * @param msg Der Text, der in der TextArea ausgegeben werden soll.
-    */
-    public void println(String msg) { print(msg + "\n"); }
-
-    /**
-    * Gibt einen Zeilenwechsel in der TextArea aus.
-    */
-    public void println()           { print(""  + "\n"); }
-
-    /**
-    * Ausgabe einer Ganzzahl ohne Formatierung in der TextArea.
-    * @param l Wert, der ausgegeben werden soll.
-    */
-    public void print(long l)        { print(l + ""); }
-
-    /**
-    * Ausgabe einer Ganzzahl ohne Formatierung in der TextArea,
-    * der ein Zeilenwechsel folgt.
-    * @param l Wert, der ausgegeben werden soll.
-    */
-    public void println(long l)      { print(l + "\n"); }
-
-    /**
-    * Ausgabe einer Gleitkommazahl ohne Formatierung in der TextArea.
-    * @param d Wert, der ausgegeben werden soll.
-    */
-    public void print(double d)      { print(d + ""); }
-
-    /**
-    * Ausgabe einer Gleitkommazahl ohne Formatierung in der TextArea,
-    * der ein Zeilenwechsel folgt.
-    * @param d Wert, der ausgegeben werden soll.
-    */
-    public void println(double d)    { print(d + "\n"); }
-
-    /**
-    * Ausgabe eines Zeichens in der TextArea.
-    * @param c Wert, der ausgegeben werden soll.
-    */
-    public void print(char c)        { print(c + ""); }
-
-    /**
-    * Ausgabe eines Zeichens in der TextArea, dem ein Zeilenwechsel folgt.
-    * @param c Wert, der ausgegeben werden soll.
-    */
-    public void println(char c)      { print(c + "\n"); }
-
-    /**
-    * Ausgabe eines Wahrheitswertes in der TextArea.
-    * @param b Wert, der ausgegeben werden soll.
-    */
-    public void print(boolean b)     { print(b + ""); }
-
-    /**
-    * Ausgabe eines Wahrheitswertes in der TextArea, dem ein Zeilenwechsel folgt.
-    * @param b Wert, der ausgegeben werden soll.
-    */
-    public void println(boolean b)   { print(b + "\n"); }
-
-    /**
-    * Ausgabe eines beliebigen Objektes in der TextArea.
-    * @param o Objekt, das ausgegeben werden soll.
-    */
-    public void print(Object o)      { print(o + ""); }
-
-    /**
-    * Ausgabe eines beliebigen Objektes in der TextArea, dem ein Zeilenwechsel
-    * folgt.
-    * @param o Objekt, das ausgegeben werden soll.
-    */
-    public void println(Object o)    { print(o + "\n"); }
-
-    /**
-    * Gibt einen String in angegebener L&auml;nge in der TextArea aus.
-    * Ist der String k&uuml;rzer, als die angegebene L&auml;nge, so werden
-    * f&uuml;hrende Leerzeichen ausgegeben.<b>
-    * Der String wird also stets <b>rechtsb&uuml;ndig</b> ausgegeben!
-    * <b>Dies ist die Basismethode aller folgenden Methoden!</b>
-    * @param s Der auszugebende Text als String
-    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
-    */
-    public void print(String s, int len)  {
-        int strlen = s.length();
-
-        for (int i=0; i < len - strlen; i++)
-            s = " " + s;
-
-        print(s);
+    // Leert die TextArea und zeigt die seit clear() gesammelten Ausgaben an
+    // (im Event-Dispatch-Thread)
+    private void clearOutput() {
+        ausgabeLock.lock();
+        try {
+            loeschenGeplant--;
+        }
+        finally {
+            ausgabeLock.unlock();
+        }
+        anzeige.setText(""); // Anzeigefeld loeschen
+        anzeige.setCaretPosition(anzeige.getDocument().getLength());
+        writeOutput();
     }
 
-    /**
-    * Rechtsb&uuml;ndige Ausgabe eines Strings in angegebener L&auml;nge
-    * in der TextArea, dem ein Zeilenwechsel folgt.
-    * @param s Der auszugebende Text als String
-    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
-    */
-    public void println(String s, int len)  { print(s, len); print("\n"); }
-    
-    /**
-    * Rechtsb&uuml;ndige Ausgabe einer Ganzahl in angegebener L&auml;ngen
-    * in der TextArea.
-    * @param l Der auszugebende Wert
-    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
-    */
-    public void print(long l,    int len)  { print(l + "", len); }
+    // Schreibt den gesammelten Text in die TextArea (im Event-Dispatch-Thread)
+    private void writeOutput() {
+        String text;
 
-    /**
-    * Rechtsb&uuml;ndige Ausgabe einer Ganzahl in angegebener L&auml;ngen
-    * in der TextArea, dem ein Zeilenwechsel folgt.
-    * @param l Der auszugebende Wert
-    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
-    */
-    public void println(long l,    int len)  { print(l,  len); print("\n"); }
-
-    /**
-    * Rechtsb&uuml;ndige Ausgabe einer Gleitkommazahl in angegebener L&auml;ngen
-    * in der TextArea.
-    * @param d Der auszugebende Wert
-    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
-    */
-    public void print(double d,  int len)  { print(d + "", len); }
-
-    /**
-    * Rechtsb&uuml;ndige Ausgabe einer Gleitkommazahl in angegebener L&auml;ngen
-    * in der TextArea, dem ein Zeilenwechsel folgt.
-    * @param d Der auszugebende Wert
-    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
-    */
-    public void println(double d,  int len)  { print(d,  len); print("\n"); }
-
-    /**
-    * Rechtsb&uuml;ndige Ausgabe eines Wahrheitswertes in angegebener
-    * L&auml;ngen in der TextArea.
-    * @param b Der auszugebende Wert
-    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
-    */
-    public void print(boolean b, int len)  { print(b + "", len); }
-
-    /**
-    * Rechtsb&uuml;ndige Ausgabe eines Wahrheitswertes in angegebener
-    * L&auml;ngen in der TextArea, dem ein Zeilenwechsel folgt.
-    * @param b Der auszugebende Wert
-    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
-    */
-    public void println(boolean b, int len)  { print(b,  len); print("\n"); }
-
-    /**
-    * Rechtsb&uuml;ndige Ausgabe eines Zeichens in der angegebenen Anzahl
-    * in der TextArea. (z,B. f&uuml;r eine Linie)
-    * @param c Das auszugebende Zeichen
-    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
-    */
-    public void print(int count, char c)  {
-        if ( count <= 0 ) return; // Muss positiv sein!
-        for (int i = 0; i < count; i++ )
-            print(c + "");
+        ausgabeLock.lock();
+        try {
+            ausgabeGeplant = false;
+            if (ausgabe.length() == 0 || loeschenGeplant > 0) {
+                return;
+            }
+            text = ausgabe.toString();
+            ausgabe.setLength(0);
+            if (ausgabe.capacity() > (1 << 20)) {
+                ausgabe.trimToSize(); // Nach grossen Ausgaben Speicher freigeben
+            }
+        }
+        finally {
+            ausgabeLock.unlock();
+        }
+        anzeige.append(text);
+        trimScrollback();
+        anzeige.setCaretPosition(anzeige.getDocument().getLength());
     }
-    /**
-    * Rechtsb&uuml;ndige Ausgabe eines Zeichens in angegebener L&auml;ngen
-    * in der TextArea.
-    * @param c Das auszugebende Zeichen
-    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
-    */
-    public void print(char c,    int len)  { print(c + "", len); }
 
-    /**
-    * Rechtsb&uuml;ndige Ausgabe eines Zeichens in angegebener L&auml;ngen
-    * in der TextArea, dem ein Zeilenwechsel folgt.
-    * @param c Das auszugebende Zeichen
-    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
-    */
-    public void println(char c,    int len)  { print(c,  len); print("\n"); }
+    private int scrollback = 0; // Maximale Zeilenanzahl der Anzeige (0: unbegrenzt)
 
     /**
-    * Rechtsb&uuml;ndige Ausgabe eines Objektes in angegebener L&auml;ngen
-    * in der TextArea.
-    * @param o Das auszugebende Objekt
-    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
+    * Begrenzt die Anzahl der Zeilen, die in der TextArea aufbewahrt werden.
+    * Sind es mehr, werden die &auml;ltesten Zeilen entfernt. So bleibt der
+    * Speicherbedarf auch bei sehr vielen Ausgaben konstant.
+    * Standard ist 0 (unbegrenzt).
+    * @param zeilen Maximale Zeilenanzahl, oder 0 f&uuml;r unbegrenzt.
     */
-    public void print(Object o,  int len)  { print(o + "", len); }
-
-    /**
-    * Rechtsb&uuml;ndige Ausgabe eines Objektes in angegebener L&auml;ngen
-    * in der TextArea, dem ein Zeilenwechsel folgt.
-    * @param o Das auszugebende Objekt
-    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
-    */
-    public void println(Object o,  int len)  { print(o,  len); print("\n"); }
-
-    /**
-    * Ausgabe von Gleitkommazahlen mit einer bestimmten L&auml;nge und
-    * einer bestimmten Anzahl von Nachkommastellen in der TextArea.
-    * @param d Wert, der ausgegeben werden soll
-    * @param len L&auml;nge der Ausgabe
-    * @param prec Anzahl der Nachkommastellen
-    */
-    public void print(double d, int len, int prec) {
-        String         out;            // Ausgabe als String
-
-        if (Double.isNaN(d) || Double.isInfinite(d))
-            out = "" + d;
-        else {
-            String format = String.format("%%%d.%df", len, prec);
-            out = String.format(format, d);;
-        }
-        print(out, len);
+    public void setScrollback(int zeilen) {
+        scrollback = Math.max(0, zeilen);
+        SwingUtilities.invokeLater(this::trimScrollback);
     }
 
-    /**
-    * Ausgabe von Gleitkommazahlen mit einer bestimmten L&auml;nge und
-    * einer bestimmten Anzahl von Nachkommastellen in der TextArea,
-    * dem ein Zeilenwechsel folgt.
-    * @param d Wert, der ausgegeben werden soll
-    * @param len L&auml;nge der Ausgabe
-    * @param prec Anzahl der Nachkommastellen
-    */
-    public void println(double d, int len, int prec) {
-        print(d, len, prec);
-        print("\n");
+    // Entfernt die aeltesten Zeilen, wenn die Grenze um mehr als 10% (mind.
+    // 100 Zeilen) ueberschritten ist. Es wird also nicht bei jeder Ausgabe,
+    // sondern nur gelegentlich ein groesserer Block am Anfang entfernt.
+    private void trimScrollback() {
+        int max = scrollback;
+        if (max <= 0) {
+            return;
+        }
+        int zeilen = anzeige.getLineCount();
+        if (zeilen <= max + Math.max(100, max / 10)) {
+            return;
+        }
+        try {
+            int ende = anzeige.getLineStartOffset(zeilen - max);
+            anzeige.getDocument().remove(0, ende);
+        }
+        catch (javax.swing.text.BadLocationException e) { }
     }
 
 // ===============================================================
@@ -519,200 +427,27 @@ public class JConsole extends JFrame
     }
 
     /**
-     * Einlesen einer Zeile als String!
-     * @return die eingegebene Zeile als String
-     */
-    public String readLine() { return readLine(""); }
-
-    /**
-     * Ausgabe eines Textes und Einlesen einer Zeichenkette (String)!
-     * @param prompt auszugebender Text
-     * @return der eingegebene Text als String
-     */
-    public String readString(String prompt) {
-        return readLine(prompt);
-    }
-
-    /**
-     * Einlesen einer Zeichenkette (String)!
-     * @return der eingegebene Text als String
-     */
-    public String readString() { return readString(""); }
-
-    /**
-     * Ausgabe eines Textes und Einlesen eines Zeichens (char)!
+     * Ausgabe eines Textes und Einlesen einer Zeile sowie aller weiteren
+     * Zeilen, die bereits vollst&auml;ndig eingegeben bzw. eingef&uuml;gt wurden.
+     * So wird z.B. ein eingef&uuml;gter Block von Zeilen mit einem Aufruf gelesen.
      * @param prompt auszugebender Text
-     * @return das eingegebene Zeichen als char
+     * @return die eingegebenen Zeilen (mindestens eine)
      */
-    public char readChar(String prompt) {
-        String input = readLine(prompt);
+    public String[] readLines(String prompt) {
+        ArrayList<String> zeilen = new ArrayList<String>();
 
-        if (input != null && input.length() > 0)
-            return input.charAt(0);
-        return '\n';
-    }
-
-    /**
-     * Einlesen eines Zeichens (char)!
-     * @return das eingegebene Zeichen als char
-     */
-    public char readChar() { return readChar(""); }
-
-    /**
-     * Ausgabe eines Textes und Einlesen eines Wahrheitswertes (boolean)! <br>
-     * Als Wahrheitswert k&ouml;nnen diverse Zeichenketten eingegeben werden.
-     * Siehe hierzu die Auflistung bei den R&uuml;ckgabewerten!
-     * @param prompt auszugebender Text
-     * @return
-     *     true:  Bei Eingabe von true, yes, ja , t, j oder 1 <br>
-     *     false: Bei Eingabe von false, no, nein, f, n oder 0 
-     */
-    public boolean readBoolean(String prompt) {
-        boolean result = false;
-        boolean noValue;
-        String input;
-
-        do {
-            noValue = false;
-            input = readLine(prompt);
-
-            if (input == null || input.equals(""))
-                return result;
-
-            input = input.toUpperCase();
-            
-            if (input.equals("TRUE") || input.equals("YES") || input.equals("JA") ||
-                    input.equals("T") || input.equals("Y") || input.equals("J") ||
-                    input.equals("1")) {
-                result = true;
-            } else if (input.equals("FALSE") || input.equals("NO") || input.equals("NEIN") ||
-                    input.equals("F")       || input.equals("N")     ||
-                    input.equals("0")) {
-                result = false;
-            } else {
-                noValue = true;
-                prompt    = "Fehler! Bitte einen Wahrheitswert: ";
+        zeilen.add(readLine(prompt));
+        try {
+            while (lineReady()) {
+                zeilen.add(nextLine());
             }
         }
-        while (noValue);
-
-        return result;
-    }
-
-    /**
-     * Einlesen eines Wahrheitswertes (boolean)! <br>
-     * Als Wahrheitswert k&ouml;nnen diverse Zeichenketten eingegeben werden.
-     * Siehe hierzu die Auflistung bei den R&uuml;ckgabewerten!
-     * @return
-     *     true:  Bei Eingabe aus : true True TRUE yes Yes YES ja Ja JA t T y Y j J 1 <br>
-     *     false: Bei Eingabe aus : false False FALSE no No NO nein Nein NEIN f F n N 0 
-     */
-    public boolean readBoolean() { return readBoolean(""); }
-
-    /**
-     * Ausgabe eines Textes und Einlesen einer Ganzzahl (long)!
-     * @param prompt auszugebender Text
-     * @return das eingegebene Wert als long
-     */
-    public long readLong(String prompt) {
-        long result = 0L;
-        boolean noValue;
-
-        do {
-            noValue = false;
-
-            try {
-                String answer = readLine(prompt);
-                if (answer == null || answer.equals(""))
-                    return result;
-                result = (new Long(answer)).longValue();
-            } catch (NumberFormatException ex) {
-                noValue = true;
-                prompt = "Fehler! Bitte eine Ganzzahl: ";
-            }
+        catch (InterruptedException ie) {
+            System.exit(0);
         }
-        while (noValue);
-
-        return result;
+        return zeilen.toArray(new String[zeilen.size()]);
     }
-
-    /**
-     * Einlesen einer Ganzzahl (long)!
-     * @return das eingegebene Wert als long
-     */
-    public long readLong() { return readLong(""); }
-
-    /**
-     * Ausgabe eines Textes und Einlesen einer Ganzzahl (int)!
-     * @param prompt auszugebender Text
-     * @return das eingegebene Wert als int
-     */
-    public int readInt(String prompt) { return (int) readLong(prompt); }
-
-    /**
-     * Einlesen einer Ganzzahl (int)!
-     * @return das eingegebene Wert als int
-     */
-    public int readInt() { return readInt(""); }
     
-    /**
-     * Ausgabe eines Textes und Einlesen einer Ganzzahl (short)!
-     * @param prompt auszugebender Text
-     * @return das eingegebene Wert als short
-     */
-    public short readShort(String prompt) { return (short) readLong(prompt); }
-
-    /**
-     * Einlesen einer Ganzzahl (short)!
-     * @return das eingegebene Wert als short
-     */
-    public short readShort() { return readShort(""); }
-    
-    /**
-     * Ausgabe eines Textes und Einlesen einer Gleitkommazahl (double)!
-     * @param prompt auszugebender Text
-     * @return das eingegebene Wert als double
-     */
-    public double readDouble(String prompt) {
-        double result = 0.0;
-        boolean noValue;
-
-        do {
-            noValue = false;
-
-            try {
-                String answer = readLine(prompt);
-                if (answer == null || answer.equals(""))
-                    return result;
-                result = (new Double(answer)).doubleValue();
-            } catch (NumberFormatException ex) {
-                noValue = true;
-                prompt   = "Fehler! Bitte eine Gleitkommazahl: ";
-            }
-        }
-        while (noValue);
-
-        return result;
-    }
-
-    /**
-     * Einlesen einer Gleitkommazahl (double)!
-     * @return das eingegebene Wert als double
-     */
-    public double readDouble() { return readDouble(""); }
-
-    /**
-     * Ausgabe eines Textes und Einlesen einer Gleitkommazahl (float)!
-     * @param prompt auszugebender Text
-     * @return das eingegebene Wert als float
-     */
-    public float readFloat(String prompt) { return (float) readDouble(prompt); }
-
-    /**
-     * Einlesen einer Gleitkommazahl (float)!
-     * @return das eingegebene Wert als float
-     */
-    public float readFloat() { return readFloat(""); }
     
 // ===============================================================
 // ==== GET FILENAME SECTION =====================================
@@ -771,12 +506,6 @@ public class JConsole extends JFrame
         return pfad + "/" + name;
     }
 
-    /**
-     * Einlesen eines Dateinamens (String)!
-     * @return der Dateiname als String
-     */
-    public String readFilename() { return readFilename(""); }
-
     /**
      * Ermitteln eines Dateinamens in einem Dialogfenster!
      * @return der Dateiname als String
@@ -813,7 +542,8 @@ public class JConsole extends JFrame
         }
     }
 
-    synchronized private void fetchFilename() {
+    // Laeuft im Event-Dispatch-Thread
+    private void fetchFilename() {
         // Dateiname ermitteln und in Anzeige einfuegen!
         String dateiname = getFilename();
         
@@ -821,47 +551,82 @@ public class JConsole extends JFrame
         if (dateiname != null) {
             // Anzeigefenster anpassen, so als ob der Benutzer die Eingabe
             // ueber Tastatur gemacht hat.
-            int laenge = ibuffer.length();
-            int ende = anzeige.getText().length();
+            writeOutput(); // Ausstehende Ausgaben zuerst anzeigen
+            int ende = anzeige.getDocument().getLength();
+            int laenge = Math.min(eingabeLaenge, ende);
             anzeige.replaceRange( dateiname, ende - laenge, ende);
             anzeige.append("\n");
         
-            // Dateiname incl Pfad in Instanzvariable uebernehmen!!
-            ibuffer = new StringBuffer( dateiname );
-        
+            // Bisherige Eingabe verwerfen, Dateiname incl. Pfad und
             // Newline-Taste melden (Ende des Einlesens eines Dateinamens)
-            chr = '\n';
-            char_ready = true;
-        } else {
-            chr = 1; // Pseudocode, zur Erkennung in getLine()
+            fetchKeys(ZEILE_LOESCHEN + dateiname + "\n");
+            eingabeLaenge = 0;
         }
-        notify();
     }
     
 // ===============================================================
 // ==== INTERNAL INPUT SECTION ===================================
 // ===============================================================
 
-    private StringBuffer ibuffer; // Sammeln der Character
-    private char chr;
-    private boolean char_ready = false;
-    private boolean hotkey = false; // Fuer eine Dateiauswahl in einem Fenster
+    // Die Tastendruecke werden vom Event-Dispatch-Thread in eine Warteschlange
+    // gestellt und von getLine() blockweise abgeholt. Es geht kein Zeichen
+    // verloren, auch nicht bei schnellem Tippen oder beim Einfuegen.
+    // Interne Markierung "Eingabezeile verwerfen" (Dateiauswahl mit F3). Sie
+    // kann nicht getippt werden (keyTyped liefert nie CHAR_UNDEFINED) und
+    // wird aus eingefuegtem Text entfernt.
+    private static final char ZEILE_LOESCHEN = KeyEvent.CHAR_UNDEFINED;
+    private final KeyQueue tasten = new KeyQueue(4096);
+
+    // Nur im Event-Dispatch-Thread
+    private final StringBuilder ueberlauf = new StringBuilder(); // Warteschlange war voll
+    private javax.swing.Timer ueberlaufTimer;
+    private int eingabeLaenge = 0; // Angezeigte Zeichen der aktuellen Eingabezeile
+
+    // Nur im lesenden Thread
+    private StringBuilder ibuffer = new StringBuilder(); // Sammeln der Character
+    private char[] block = new char[4096]; // Abgeholte Zeichen
+    private int blockPos = 0, blockLen = 0; // Noch nicht verarbeitete Zeichen in block
+
+    private volatile boolean hotkey = false; // Fuer eine Dateiauswahl in einem Fenster
     private String pfad;
 
     // Lesen einer Zeile (als String)
     private String getLine(String prompt) throws InterruptedException {
+        print(prompt); // Prompt ausgeben in Textarea
+        SwingUtilities.invokeLater(this::writeOutput); // ... und sofort anzeigen
+        return nextLine();
+    }
+
+    // Lesen der naechsten Zeile (ohne Prompt)
+    private String nextLine() throws InterruptedException {
         String answer = "";
         char c; // Der Tastencode
 
-        print(prompt); // Prompt ausgeben in Textarea
-            
-        // StringBuffer erzeugen
-        ibuffer = new StringBuffer();
+        // StringBuffer leeren
+        ibuffer.setLength(0);
 
         do {
-            // Holen des Tastencodes
-            if ((c = read()) == 0) {
-                throw new InterruptedException("Ende angefordert");
+            // Holen des naechsten Blocks von Tastencodes
+            if (blockPos == blockLen) {
+                blockPos = 0;
+                if (block.length > 4096) {
+                    block = new char[4096]; // Nach readLines() Speicher freigeben
+                }
+                if ((blockLen = tasten.drain(block)) == 0) {
+                    throw new InterruptedException("Ende angefordert");
+                }
+            }
+            c = block[blockPos++];
+
+            if (c >= ' ' && c != ZEILE_LOESCHEN) {
+                // Gewoehnliche Zeichen (z.B. eingefuegter Text) auf einmal uebernehmen
+                int ende = blockPos;
+                while (ende < blockLen && block[ende] >= ' ' && block[ende] != ZEILE_LOESCHEN) {
+                    ende++;
+                }
+                ibuffer.append(block, blockPos - 1, ende - blockPos + 1);
+                blockPos = ende;
+                continue;
             }
 
             if (c == 8) { // Backspace-Taste?
@@ -870,8 +635,12 @@ public class JConsole extends JFrame
                 }
                 continue;
             }
+            if (c == ZEILE_LOESCHEN) {
+                ibuffer.setLength(0);
+                continue;
+            }
             
-            if (c != '\n' && c != 1) {
+            if (c != '\n' && c != 1) { // Ctrl-A wird ignoriert
                 ibuffer.append(c);
             }
         }
@@ -879,42 +648,57 @@ public class JConsole extends JFrame
 
         // Ergebnis umwandeln in einen String
         answer = ibuffer.toString();
+        if (ibuffer.capacity() > 4096) {
+            ibuffer = new StringBuilder(); // Nach sehr langen Zeilen Speicher freigeben
+        }
         hotkey = false;
         return answer;
     }
 
+    // Liegt bereits eine vollstaendige Zeile vor? (ohne zu warten)
+    private boolean lineReady() {
+        int i = blockPos;
+
+        while (true) {
+            for (; i < blockLen; i++) {
+                if (block[i] == '\n') {
+                    return true;
+                }
+            }
+            // Rest an den Anfang schieben und weitere Zeichen abholen
+            if (blockPos > 0) {
+                System.arraycopy(block, blockPos, block, 0, blockLen - blockPos);
+                blockLen -= blockPos;
+                blockPos = 0;
+            }
+            if (blockLen == block.length) {
+                block = Arrays.copyOf(block, 2 * block.length);
+            }
+            int n = tasten.poll(block, blockLen);
+            if (n == 0) {
+                return false;
+            }
+            i = blockLen;
+            blockLen += n;
+        }
+    }
+
     /**
      * Entfernen des Fensters.
      */
-    synchronized public void exit() {
-        chr = 0;
-        char_ready = true;
-        notify();
+    public void exit() {
+        tasten.close(); // Ein wartendes getLine() beenden
 
         setVisible(false);
         dispose();
     }
-    
-    // Synchronisierter Empfang eines Zeichens der Tastatur
-    synchronized private char read () {
-        if (!char_ready) {
-            try {
-                wait ();
-            }
-            catch (Exception e) { }
-        }
-        char_ready = false;
-        return chr;
-    }
 
     // Innere Klasse, die fuer die spezielle Tastaturbehandlung verantwortlich ist
-    // Die Methoden muessen mit der read()-Methode synxhronisiert werden, die ja auf
-    // einen Tastendruck wartet!
     private class KeyObserver extends KeyAdapter
     {
         // Erkennen des HOTKEY F3, um einen Dateiauswahl-Dialog zu starten
         public void keyReleased( KeyEvent e ) {
-            if (hotkey == false || char_ready)
+            if (hotkey == false)
                 return;
         
             // Tastendruck F3 erkannt?
@@ -924,290 +708,127 @@ public class JConsole extends JFrame
             }
         }
     
-        // Eine (normale Taste wurde gedrueckt. Diese Taste muss von der read()-Methode
-        // weiterverarbeitet werden. Solange dies nicht beendet ist (char_ready) wird
-        // keine weitere Taste angenommen!
+        // Eine (normale) Taste wurde gedrueckt. Diese Taste wird in die
+        // Warteschlange gestellt und von getLine() weiterverarbeitet.
         public void keyTyped (KeyEvent e) {
-            if (char_ready)
-                return;
-            fetchKey( e. getKeyChar() );
+            char c = e.getKeyChar();
+
+            if (c == 8) {
+                eingabeLaenge = Math.max(0, eingabeLaenge - 1);
+            } else if (c == '\n') {
+                eingabeLaenge = 0;
+            } else if (c != 1) {
+                eingabeLaenge++;
+            }
+            fetchKey(c);
         }
     }
     
-    synchronized private void fetchKey( char c ) {
-        chr = c;
-        char_ready = true;
-        notify();
-    }
-
-// ===============================================================
-// ==== FILE INPUT SECTION (object) ==============================
-// ===============================================================
+    // TransferHandler fuer die Anzeige: Eingefuegter Text (Zwischenablage,
+    // Drag&Drop) wird am Ende angezeigt und als Ganzes in die Warteschlange
+    // gestellt. Das Kopieren uebernimmt der urspruengliche TransferHandler.
+    private class Einfuegen extends TransferHandler
+    {
+        private static final long serialVersionUID = 1L;
 
-    /*
-     * Uebernommen zum WS 2013/14 aus der Klasse JArrayUtilities.
-     * 
-     * Hilfsfunktionen zum Einlesen eines Arrays aus einer Datei sowie eine Methode
-     * zum Veraendern eines Arrays (removeLastColumn())
-     */
+        private final TransferHandler original;
 
-    final static String stdDelim = " \t,;!?:()[]{}<>*/";
+        Einfuegen(TransferHandler original) {
+            this.original = original;
+        }
 
-    /**
-     * Liest Zahlenwerte aus einer Textdatei in ein zweidimensionales Array
-     * vom Datentyp double. Jede Zeile in der Datei wird als Array-Zeile aufgefasst.
-     * wenn sie die gleiche Anzahl Zahlen wie die erste Zeile (mit mehr als einer Zahl)
-     * enthaelt.
-     * <p>
-     * Um Zahlen zu erkennen, werden alle Whitespace-Zeichen (Leerzeichen, Tabulator) sowie
-     * alle Satzzeichen (ausser Punkt!) und alle Klammern (rund, eckig, spitz, geschweift) als
-     * Trennzeichen angesehen.
-     * 
-     * @param filename Zeichenkette mit dem Namen der Datei.
-     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
-     */
-    public double[][] readArray(String filename) throws IOException
-    {
-        return readArray(filename, "", true);
-        
-    }
-    
-    /**
-     * Liest Zahlenwerte aus einer Textdatei in ein zweidimensionales Array
-     * vom Datentyp double. Jede Zeile in der Datei wird als Array-Zeile aufgefasst.
-     * wenn sie die gleiche Anzahl Zahlen wie die erste Zeile (mit mehr als einer Zahl)
-     * enthaelt.
-     * 
-     * @param filename Zeichenkette mit dem Namen der Datei.
-     * @param delim  Zeichenkette mit allen Trennzeichen (zu ignorierenden Zeichen) in der Datei.
-     * @param appendDelim Die uebergebenen Trennzeichen sollen zusaetzlich zu den Standardtrennzeichen benutzt werden.
-     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
-     */
-    public double[][] readArray(String filename, String delim, boolean appendDelim) throws IOException
-    {
-        double a[][] = null; // Das Array (vorerst noch "leer")
-        int n = 0; // Zeilenanzahl des Array
-        int m = 0; // Spaltenanzahl des Arrays
-        int z = 0; // Zeilenanzahl der Datei (Zeilen mit m Zahlen)
-        BufferedReader br = new BufferedReader(new FileReader(filename));
-        StringTokenizer st; // Zum Zerlegen der Zeile in Token
-        String line; // Eine Zeile der Datei
-        int ta; // Tokenanzahl
-        String useDelim = new String("");
-        
-        if (appendDelim == true) {
-            useDelim = stdDelim;
+        public boolean canImport(TransferSupport ts) {
+            return ts.isDataFlavorSupported(DataFlavor.stringFlavor);
         }
-        useDelim += delim;
-        
-        while ((line = br.readLine()) != null) {
-            // Leere Zeilen und Kommantarzeilen ueberlesen
-            if (line.length() < 1 || line.charAt(0) == '#') {
-                continue;
-            }
-            
-            // Zeile in Token zerlegen
-            st = new StringTokenizer(line,  useDelim);
-            ta = 0; // Tokenanzahl vorerst 0
-            
-            // Suche nach Token, die Zahlen sind
-            while (st.hasMoreTokens()) {
-                try {
-                    Double.parseDouble(st.nextToken());
-                    ta++;
-                }
-                catch (NumberFormatException nfe) {}
-            }
-            
-            // Tokenanzahl muss mindestens 2 sein
-            if (ta < 2) {
-                continue;
-            }
-            
-            // Wenn Spaltenanzahl noch 0 ist, dann ist ta die Spaltenzahl m
-            // Die Spaltenanzahl muss mit der Tokenanazhal uebereinstimmen, d.h.
-            // es werden nur Zeilen gelesen, die die gleiche Anzahl von Zahlen
-            // haben!
-            if (m == 0) {
-                m = ta;
+
+        public boolean importData(TransferSupport ts) {
+            String text;
+
+            if (!canImport(ts)) {
+                return false;
             }
-            else if (ta != m) {
-                continue;
+            try {
+                text = (String) ts.getTransferable().getTransferData(DataFlavor.stringFlavor);
             }
-            
-            // Array anlegen, falls es noch nicht existiert
-            if (a == null) {
-                a = new double[1][m]; // Definition der Matrix
-                n = 1; // Zeilenanzahl ist nun 1
+            catch (UnsupportedFlavorException | IOException e) {
+                return false;
             }
-            
-            // Arraygroesse verdoppeln, falls mehr Zeilen enthalten
-            if (z >= n) {
-                // Zeilenanzahl erhoehen
-                a = (double[][]) resizeArray(a, n+1);
-                n++; // Zeilenanzahl erhoehen
+            text = text.replace("\r\n", "\n").replace('\r', '\n');
+            if (text.indexOf(ZEILE_LOESCHEN) >= 0) {
+                text = text.replace(String.valueOf(ZEILE_LOESCHEN), "");
             }
-            
-            st = new StringTokenizer(line, useDelim);
 
-            // Versuche m Spaltenwerte der Zeile z einzulesen
-            for (int s = 0; s < m; ) {
-                try {
-                    a[z][s] = Double.parseDouble(st.nextToken());
-                }
-                catch (NumberFormatException e) {
-                    continue;
-                }
-                s++;
-            }
-            // Zeilenzaehler inkrementieren!
-            z++;
+            writeOutput(); // Ausstehende Ausgaben zuerst anzeigen
+            anzeige.append(text);
+            anzeige.setCaretPosition(anzeige.getDocument().getLength());
+
+            int nl = text.lastIndexOf('\n');
+            eingabeLaenge = nl < 0 ? eingabeLaenge + text.length() : text.length() - nl - 1;
+            fetchKeys(text);
+            return true;
         }
-        // Wenn alles erfolgreich war, muss z mindestens 1 sein!
-        if (z < 1) {
-            return null;
+
+        public int getSourceActions(JComponent c) {
+            return original.getSourceActions(c);
+        }
+
+        public void exportToClipboard(JComponent c, Clipboard cb, int action) {
+            original.exportToClipboard(c, cb, action);
+        }
+
+        public void exportAsDrag(JComponent c, InputEvent e, int action) {
+            original.exportAsDrag(c, e, action);
         }
-        // Datei schliessen
-        br.close();
-        return a;
     }
-    
-    /**
-     * Liest Zahlenwerte aus einer Textdatei in ein eindimensionales Array
-     * vom Datentyp double. Jede Zeile in der Datei wird als Array-Zeile aufgefasst.
-     * wenn sie genau eine Zahl enthaelt.
-     * <p>
-     * Um Zahlen zu erkennen, werden alle Whitespace-Zeichen (Leerzeichen, Tabulator) sowie
-     * alle Satzzeichen (ausser Punkt!) und alle Klammern (rund, eckig, spitz, geschweift) als
-     * Trennzeichen angesehen.
-     * 
-     * @param filename Zeichenkette mit dem Namen der Datei.
-     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
-     */
-    public double[] readSequence(String filename) throws IOException
-    {
-        return readSequence(filename, "", false);
-        
+
+    // Stellt ein Zeichen in die Warteschlange (im Event-Dispatch-Thread). Ist
+    // sie voll, wird das Zeichen aufbewahrt und spaeter nachgeliefert.
+    private void fetchKey( char c ) {
+        if (ueberlauf.length() == 0 && tasten.offer(c)) {
+            return;
+        }
+        ueberlauf.append(c);
+        startOverflow();
     }
-    
-    /**
-     * Liest Zahlenwerte aus einer Textdatei in ein eindimensionales Array
-     * vom Datentyp double. Jede Zeile in der Datei wird als Array-Zeile aufgefasst.
-     * wenn sie genau eine Zahl enthaelt.
-     * 
-     * @param filename Zeichenkette mit dem Namen der Datei.
-     * @param delim  Zeichenkette mit allen Trennzeichen (zu ignorierenden Zeichen) in der Datei.
-     * @param appendDelim Die uebergebenen Trennzeichen sollen zusaetzlich zu den Standardtrennzeichen benutzt werden.
-     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
-     */
-    public double[] readSequence(String filename, String delim, boolean appendDelim) throws IOException
-    {
-        double a[] = null; // Das Array (vorerst noch "leer")
-        int n = 0; // Zeilenanzahl des Array
-        int z = 0; // Zeilenanzahl der Datei (Zeilen mit 1 Zahl)
-        BufferedReader br = new BufferedReader(new FileReader(filename));
-        StringTokenizer st; // Zum Zerlegen der Zeile in Token
-        String line; // Eine Zeile der Datei
-        int ta; // Tokenanzahl
-        String useDelim = new String("");
-        
-        if (appendDelim == true) {
-            useDelim = stdDelim;
+
+    // Stellt mehrere Zeichen (z.B. eingefuegten Text) in die Warteschlange
+    private void fetchKeys( String s ) {
+        int n = ueberlauf.length() == 0 ? tasten.offer(s, 0) : 0;
+
+        if (n < s.length()) {
+            ueberlauf.append(s, n, s.length());
+            startOverflow();
         }
-        useDelim += delim;
-        
-        while ((line = br.readLine()) != null) {
-            // Leere Zeilen und Kommantarzeilen ueberlesen
-            if (line.length() < 1 || line.charAt(0) == '#') {
-                continue;
-            }
-            
-            // Zeile in Token zerlegen
-            st = new StringTokenizer(line, useDelim);
-            ta = 0; // Tokenanzahl vorerst 0
-            
-            // Suche nach Token, die Zahlen sind
-            while (st.hasMoreTokens() && ta < 2) {
-                try {
-                    Double.parseDouble(st.nextToken());
-                    ta++;
-                }
-                catch (NumberFormatException nfe) {}
-            }
-            
-            // Tokenanzahl muss geanu 1 sein
-            if (ta != 1) {
-                continue;
-            }
-            
-            // Array anlegen, falls es noch nicht existiert
-            if (a == null) {
-                a = new double[1]; // Definition der Matrix
-                n = 1; // Zeilenanzahl ist nun 1
-            }
-            
-            // Arraygroesse verdoppeln, falls mehr Zeilen enthalten
-            if (z >= n) {
-                // Zeilenanzahl erhoehen
-                a = (double[]) resizeArray(a, n+1);
-                n++; // Zeilenanzahl erhoehen
-            }
-            
-            try {
-                st = new StringTokenizer(line, useDelim);
-                // Versuche m Spaltenwerte der Zeile z einzulesen
-                a[z] = Double.parseDouble(st.nextToken());
-            }
-            catch (NumberFormatException e) {
-                return null;
-            }
-            // Zeilenzaehler inkrementieren!
-            z++;
+    }
+
+    private void startOverflow() {
+        if (ueberlaufTimer == null) {
+            ueberlaufTimer = new javax.swing.Timer(10, e -> flushOverflow());
         }
-        // Wenn alles erfolgreich war, muss z mindestens 1 sein!
-        if (z < 1) {
-            return null;
+        ueberlaufTimer.start();
+    }
+
+    // Liefert aufbewahrte Zeichen nach, sobald wieder Platz ist
+    private void flushOverflow() {
+        int n = tasten.offer(ueberlauf, 0);
+
+        ueberlauf.delete(0, n);
+        if (ueberlauf.length() == 0) {
+            ueberlaufTimer.stop();
         }
-        // Datei schliessen
-        br.close();
-        return a;
     }
-    
+
 // ===============================================================
-// ==== INTERNAL TOOLS SECTION ===================================
+// ==== FILE INPUT SECTION (object) ==============================
 // ===============================================================
+
     /*
-     * Diese Methode ver&auml;ndert die Gr&ouml;&szlig;e eines Arrays und
-     * gibt das neudimensionierte Array zur&uuml;ck. Intern wird das Array
-     * als Object (die allgemeinste Klasse in Java ) aufgefasst. In der
-     * Anwendung muss der Rueckgabewert daher mit einer expliziten Typkonvertierung
-     * auf den richtigen Array-Typ gesetzt werden.
+     * Uebernommen zum WS 2013/14 aus der Klasse JArrayUtilities.
      * 
-     * @param oldArray Das zu &auml;ndernde Array.
-     * @param newSize Die neue Gr&ouml;&szlig;e des Arrays.
-     * @return Das neue Array als Objekt.
+     * Die Methoden readArray(), readSequence() usw. sind seit 2026 in der
+     * Schnittstelle Konsole definiert (Lade-Logik in der Klasse ArrayLoader).
      */
-    private Object resizeArray(Object oldArray, int newSize) {
-        int oldSize = Array.getLength(oldArray);
-        Class elementType = oldArray.getClass().getComponentType();
-        Object newArray = Array.newInstance(elementType, newSize);
-        int preserveLength = Math.min(oldSize, newSize);
-        
-        if (preserveLength > 0) {
-            System.arraycopy(oldArray,0, newArray, 0, preserveLength);
-        }
-                
-        if (newSize > oldSize) {
-            try {
-                int colSize = Array.getLength( Array.get(newArray, 0) );
-                elementType = Array.get(newArray,0).getClass().getComponentType();
-                for (int i = oldSize; i < newSize; i++) {
-                    Array.set(newArray, i, Array.newInstance(elementType, colSize));
-                }
-            }
-            catch (IllegalArgumentException e) {}
-        }
-        return newArray;
-    }
-    
+
+    final static String stdDelim = ArrayLoader.STD_DELIM;
+
 }
@@ -0,0 +1,160 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse KeyQueue
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Warteschlange fuer Tastendruecke der JConsole (ersetzt die
+ *            Uebergabe eines einzelnen Zeichens mit wait/notify)
+ * 2026-10-18 poll(): Zeichen abholen ohne zu warten (fuer readLines())
+ * 2026-10-18 drain(): Unterbrechung beendet das Warten (wie zuvor wait())
+ * ==================================================================
+ */
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+/**
+ * Begrenzte Warteschlange f&uuml;r Zeichen zwischen genau einem Erzeuger (dem
+ * Event-Dispatch-Thread) und genau einem Verbraucher (dem Thread, der
+ * <tt>readLine()</tt> aufruft).
+ * <p>
+ * Die Zeichen liegen in einem Ringpuffer. Erzeuger und Verbraucher
+ * ver&auml;ndern jeweils nur ihren eigenen Z&auml;hler, es sind also keine
+ * Sperren n&ouml;tig. Der Verbraucher wird nur geweckt, wenn er tats&auml;chlich
+ * wartet. Ist der Puffer voll, liefert <tt>offer()</tt> false; der Erzeuger muss
+ * das Zeichen dann selbst aufbewahren und sp&auml;ter erneut anbieten.
+ */
+final class KeyQueue
+{
+    private final char[] ring;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // Naechstes zu lesendes Zeichen
+    private final AtomicLong tail = new AtomicLong(); // Naechste freie Stelle
+    private volatile Thread waiter; // Wartender Verbraucher, sonst null
+    private volatile boolean closed = false;
+
+    /**
+     * @param capacity Gr&ouml;&szlig;e des Puffers (wird auf eine Zweierpotenz
+     *                 aufgerundet).
+     */
+    KeyQueue(int capacity)
+    {
+        int n = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        ring = new char[n];
+        mask = n - 1;
+    }
+
+    /**
+     * Nur f&uuml;r den Erzeuger: H&auml;ngt ein Zeichen an.
+     *
+     * @param c Das Zeichen.
+     * @return false, wenn der Puffer voll ist.
+     */
+    boolean offer(char c)
+    {
+        long t = tail.get();
+
+        if (t - head.get() == ring.length) {
+            return false;
+        }
+        ring[(int) t & mask] = c;
+        tail.set(t + 1); // Veroeffentlichen, danach waiter pruefen
+        wake();
+        return true;
+    }
+
+    /**
+     * Nur f&uuml;r den Erzeuger: H&auml;ngt so viele Zeichen wie m&ouml;glich an.
+     *
+     * @param s Die Zeichen.
+     * @param from Index des ersten Zeichens in s.
+     * @return Die Anzahl der angeh&auml;ngten Zeichen.
+     */
+    int offer(CharSequence s, int from)
+    {
+        long t = tail.get();
+        int n = (int) Math.min(s.length() - from, ring.length - (t - head.get()));
+
+        for (int i = 0; i < n; i++) {
+            ring[(int) (t + i) & mask] = s.charAt(from + i);
+        }
+        if (n > 0) {
+            tail.set(t + n);
+            wake();
+        }
+        return n;
+    }
+
+    /**
+     * Schlie&szlig;t die Warteschlange. Ein wartender Verbraucher erh&auml;lt
+     * danach (sobald alle Zeichen gelesen sind) das Ergebnis 0. Darf von
+     * jedem Thread aufgerufen werden.
+     */
+    void close()
+    {
+        closed = true;
+        wake();
+    }
+
+    /**
+     * Nur f&uuml;r den Verbraucher: Wartet auf mindestens ein Zeichen und
+     * &uuml;bernimmt dann alle vorhandenen Zeichen (h&ouml;chstens
+     * <tt>dest.length</tt>).
+     *
+     * @param dest Ziel-Array.
+     * @return Die Anzahl der Zeichen, oder 0 wenn die Warteschlange
+     *         geschlossen wurde.
+     * @throws InterruptedException Wenn der Thread beim Warten unterbrochen
+     *         wird (das Unterbrechungs-Flag wird dabei gel&ouml;scht).
+     */
+    int drain(char[] dest) throws InterruptedException
+    {
+        long h = head.get();
+
+        while (tail.get() == h) {
+            if (closed) {
+                return 0;
+            }
+            waiter = Thread.currentThread();
+            if (tail.get() == h && !closed) {
+                LockSupport.park(this);
+            }
+            waiter = null;
+            // park() kehrt bei gesetztem Flag sofort zurueck; ohne diese
+            // Pruefung liefe die Schleife dann ohne Pause weiter
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return poll(dest, 0);
+    }
+
+    /**
+     * Nur f&uuml;r den Verbraucher: &Uuml;bernimmt alle vorhandenen Zeichen
+     * (h&ouml;chstens bis zum Ende von <tt>dest</tt>), ohne zu warten.
+     *
+     * @param dest Ziel-Array.
+     * @param off Index in dest f&uuml;r das erste Zeichen.
+     * @return Die Anzahl der Zeichen (0, wenn keine vorhanden sind).
+     */
+    int poll(char[] dest, int off)
+    {
+        long h = head.get();
+        int n = (int) Math.min(tail.get() - h, dest.length - off);
+
+        for (int i = 0; i < n; i++) {
+            dest[off + i] = ring[(int) (h + i) & mask];
+        }
+        head.set(h + n);
+        return n;
+    }
+
+    private void wake()
+    {
+        Thread w = waiter;
+        if (w != null) {
+            LockSupport.unpark(w);
+        }
+    }
+}
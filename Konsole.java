@@ -0,0 +1,952 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Schnittstelle Konsole
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Ein-/Ausgabe-Methoden von JConsole als Schnittstelle, damit
+ *            neben dem Fenster (JConsole) auch eine Textkonsole ohne
+ *            grafische Oberflaeche (TextKonsole) benutzt werden kann.
+ * 2026-10-18 neue Methode: readLines()
+ * 2026-10-18 formatierte Ausgaben ueber Zahlenformat statt String.format()
+ *            und Auffuellen mit Leerzeichen in linearer Zeit
+ * 2026-10-18 neue Methoden: printTable(), printSequence()
+ * 2026-10-18 printTable()/printSequence(): null wird als "null" ausgegeben
+ * ==================================================================
+ */
+import java.io.*;
+import java.util.function.*;
+
+/**
+ * Formatierte Ein- und Ausgabe f&uuml;r Programme, die mit dem Benutzer
+ * &uuml;ber Texteingaben kommunizieren.
+ * <p>
+ * Die Schnittstelle hat zwei Implementierungen:
+ * <ul>
+ * <li><b>JConsole</b> &ouml;ffnet ein Fenster, in dem die Ausgaben erscheinen
+ *     und die Eingaben gemacht werden.</li>
+ * <li><b>TextKonsole</b> liest von der Standardeingabe und schreibt auf die
+ *     Standardausgabe. Sie ben&ouml;tigt keine grafische Oberfl&auml;che und
+ *     eignet sich f&uuml;r Server und Stapelverarbeitung.</li>
+ * </ul>
+ * Mit <tt>Konsole.create()</tt> wird die passende Implementierung gew&auml;hlt:
+ * <pre>
+ *     Konsole konsole = Konsole.create();
+ *     int i = konsole.readInt("Ganzzahl bitte: ");
+ *     konsole.println(i, 8);
+ * </pre>
+ * Eine Implementierung muss nur die Basismethoden <tt>print(String)</tt>,
+ * <tt>readLine(String)</tt>, <tt>clear()</tt> und <tt>exit()</tt> bereitstellen;
+ * alle anderen Methoden bauen darauf auf.
+ */
+public interface Konsole
+{
+    /**
+     * Erzeugt eine Konsole: ein Fenster (JConsole), wenn eine grafische
+     * Oberfl&auml;che vorhanden ist, sonst eine TextKonsole. Mit der
+     * Systemeigenschaft <tt>-Dkonsole=text</tt> wird immer eine TextKonsole
+     * erzeugt, ohne dass AWT/Swing geladen wird.
+     *
+     * @return Die neue Konsole.
+     */
+    static Konsole create()
+    {
+        if ("text".equals(System.getProperty("konsole"))
+            || java.awt.GraphicsEnvironment.isHeadless()) {
+            return new TextKonsole();
+        }
+        return new JConsole();
+    }
+
+// ===============================================================
+// ==== BASE METHODS =============================================
+// ===============================================================
+
+    /**
+    * Gibt einen String auf der Konsole aus.
+    * <b>Dies ist die Basismethode aller folgenden Ausgabe-Methoden!</b>
+    * @param msg Der Text, der ausgegeben werden soll.
+    */
+    void print(String msg);
+
+    /**
+     * Ausgabe eines Textes und Einlesen einer Zeile als String!
+     * <b>Dies ist die Basismethode aller folgenden Eingabe-Methoden!</b>
+     * @param prompt auszugebender Text
+     * @return die eingegebene Zeile als String
+     */
+    String readLine(String prompt);
+
+    /**
+     * Ausgabe eines Textes und Einlesen einer Zeile sowie aller weiteren
+     * Zeilen, die bereits vollst&auml;ndig vorliegen (z.B. ein eingef&uuml;gter
+     * Block). Standardm&auml;&szlig;ig wird nur eine Zeile gelesen.
+     * @param prompt auszugebender Text
+     * @return die eingegebenen Zeilen (mindestens eine)
+     */
+    default String[] readLines(String prompt) {
+        return new String[] { readLine(prompt) };
+    }
+
+    /**
+    * L&ouml;scht die Anzeige. <br>
+    */
+    void clear();
+
+    /**
+     * Beenden der Konsole.
+     */
+    void exit();
+
+// ===============================================================
+// ==== OUTPUT SECTION ===========================================
+// ===============================================================
+
+    /**
+    * Gibt einen String auf der Konsole aus, dem ein Zeilenwechsel folgt.
+    * @param msg Der Text, der auf der Konsole ausgegeben werden soll.
+    */
+    default void println(String msg) { print(msg + "\n"); }
+
+    /**
+    * Gibt einen Zeilenwechsel auf der Konsole aus.
+    */
+    default void println()           { print(""  + "\n"); }
+
+    /**
+    * Ausgabe einer Ganzzahl ohne Formatierung auf der Konsole.
+    * @param l Wert, der ausgegeben werden soll.
+    */
+    default void print(long l)        { print(l + ""); }
+
+    /**
+    * Ausgabe einer Ganzzahl ohne Formatierung auf der Konsole,
+    * der ein Zeilenwechsel folgt.
+    * @param l Wert, der ausgegeben werden soll.
+    */
+    default void println(long l)      { print(l + "\n"); }
+
+    /**
+    * Ausgabe einer Gleitkommazahl ohne Formatierung auf der Konsole.
+    * @param d Wert, der ausgegeben werden soll.
+    */
+    default void print(double d)      { print(d + ""); }
+
+    /**
+    * Ausgabe einer Gleitkommazahl ohne Formatierung auf der Konsole,
+    * der ein Zeilenwechsel folgt.
+    * @param d Wert, der ausgegeben werden soll.
+    */
+    default void println(double d)    { print(d + "\n"); }
+
+    /**
+    * Ausgabe eines Zeichens auf der Konsole.
+    * @param c Wert, der ausgegeben werden soll.
+    */
+    default void print(char c)        { print(c + ""); }
+
+    /**
+    * Ausgabe eines Zeichens auf der Konsole, dem ein Zeilenwechsel folgt.
+    * @param c Wert, der ausgegeben werden soll.
+    */
+    default void println(char c)      { print(c + "\n"); }
+
+    /**
+    * Ausgabe eines Wahrheitswertes auf der Konsole.
+    * @param b Wert, der ausgegeben werden soll.
+    */
+    default void print(boolean b)     { print(b + ""); }
+
+    /**
+    * Ausgabe eines Wahrheitswertes auf der Konsole, dem ein Zeilenwechsel folgt.
+    * @param b Wert, der ausgegeben werden soll.
+    */
+    default void println(boolean b)   { print(b + "\n"); }
+
+    /**
+    * Ausgabe eines beliebigen Objektes auf der Konsole.
+    * @param o Objekt, das ausgegeben werden soll.
+    */
+    default void print(Object o)      { print(o + ""); }
+
+    /**
+    * Ausgabe eines beliebigen Objektes auf der Konsole, dem ein Zeilenwechsel
+    * folgt.
+    * @param o Objekt, das ausgegeben werden soll.
+    */
+    default void println(Object o)    { print(o + "\n"); }
+
+    /**
+    * Gibt einen String in angegebener L&auml;nge auf der Konsole aus.
+    * Ist der String k&uuml;rzer, als die angegebene L&auml;nge, so werden
+    * f&uuml;hrende Leerzeichen ausgegeben.<b>
+    * Der String wird also stets <b>rechtsb&uuml;ndig</b> ausgegeben!
+    * <b>Dies ist die Basismethode aller folgenden Methoden!</b>
+    * @param s Der auszugebende Text als String
+    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
+    */
+    default void print(String s, int len)  {
+        if (s.length() >= len)
+            print(s);
+        else
+            print(Zahlenformat.appendPadded(Zahlenformat.puffer(), s, len).toString());
+    }
+
+    /**
+    * Rechtsb&uuml;ndige Ausgabe eines Strings in angegebener L&auml;nge
+    * auf der Konsole, dem ein Zeilenwechsel folgt.
+    * @param s Der auszugebende Text als String
+    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
+    */
+    default void println(String s, int len)  { print(s, len); print("\n"); }
+    
+    /**
+    * Rechtsb&uuml;ndige Ausgabe einer Ganzahl in angegebener L&auml;ngen
+    * auf der Konsole.
+    * @param l Der auszugebende Wert
+    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
+    */
+    default void print(long l,    int len)  {
+        print(Zahlenformat.appendPadded(Zahlenformat.puffer(), l, len).toString());
+    }
+
+    /**
+    * Rechtsb&uuml;ndige Ausgabe einer Ganzahl in angegebener L&auml;ngen
+    * auf der Konsole, dem ein Zeilenwechsel folgt.
+    * @param l Der auszugebende Wert
+    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
+    */
+    default void println(long l,    int len)  { print(l,  len); print("\n"); }
+
+    /**
+    * Rechtsb&uuml;ndige Ausgabe einer Gleitkommazahl in angegebener L&auml;ngen
+    * auf der Konsole.
+    * @param d Der auszugebende Wert
+    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
+    */
+    default void print(double d,  int len)  { print(d + "", len); }
+
+    /**
+    * Rechtsb&uuml;ndige Ausgabe einer Gleitkommazahl in angegebener L&auml;ngen
+    * auf der Konsole, dem ein Zeilenwechsel folgt.
+    * @param d Der auszugebende Wert
+    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
+    */
+    default void println(double d,  int len)  { print(d,  len); print("\n"); }
+
+    /**
+    * Rechtsb&uuml;ndige Ausgabe eines Wahrheitswertes in angegebener
+    * L&auml;ngen auf der Konsole.
+    * @param b Der auszugebende Wert
+    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
+    */
+    default void print(boolean b, int len)  { print(b + "", len); }
+
+    /**
+    * Rechtsb&uuml;ndige Ausgabe eines Wahrheitswertes in angegebener
+    * L&auml;ngen auf der Konsole, dem ein Zeilenwechsel folgt.
+    * @param b Der auszugebende Wert
+    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
+    */
+    default void println(boolean b, int len)  { print(b,  len); print("\n"); }
+
+    /**
+    * Rechtsb&uuml;ndige Ausgabe eines Zeichens in der angegebenen Anzahl
+    * auf der Konsole. (z,B. f&uuml;r eine Linie)
+    * @param c Das auszugebende Zeichen
+    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
+    */
+    default void print(int count, char c)  {
+        if ( count <= 0 ) return; // Muss positiv sein!
+        StringBuilder sb = Zahlenformat.puffer();
+        for (int i = 0; i < count; i++ )
+            sb.append(c);
+        print(sb.toString());
+    }
+    /**
+    * Rechtsb&uuml;ndige Ausgabe eines Zeichens in angegebener L&auml;ngen
+    * auf der Konsole.
+    * @param c Das auszugebende Zeichen
+    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
+    */
+    default void print(char c,    int len)  { print(c + "", len); }
+
+    /**
+    * Rechtsb&uuml;ndige Ausgabe eines Zeichens in angegebener L&auml;ngen
+    * auf der Konsole, dem ein Zeilenwechsel folgt.
+    * @param c Das auszugebende Zeichen
+    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
+    */
+    default void println(char c,    int len)  { print(c,  len); print("\n"); }
+
+    /**
+    * Rechtsb&uuml;ndige Ausgabe eines Objektes in angegebener L&auml;ngen
+    * auf der Konsole.
+    * @param o Das auszugebende Objekt
+    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
+    */
+    default void print(Object o,  int len)  { print(o + "", len); }
+
+    /**
+    * Rechtsb&uuml;ndige Ausgabe eines Objektes in angegebener L&auml;ngen
+    * auf der Konsole, dem ein Zeilenwechsel folgt.
+    * @param o Das auszugebende Objekt
+    * @param len Die L&auml;nge der Ausgabe als Ganzzahl
+    */
+    default void println(Object o,  int len)  { print(o,  len); print("\n"); }
+
+    /**
+    * Ausgabe von Gleitkommazahlen mit einer bestimmten L&auml;nge und
+    * einer bestimmten Anzahl von Nachkommastellen auf der Konsole.
+    * @param d Wert, der ausgegeben werden soll
+    * @param len L&auml;nge der Ausgabe
+    * @param prec Anzahl der Nachkommastellen
+    */
+    default void print(double d, int len, int prec) {
+        print(Zahlenformat.appendFixed(Zahlenformat.puffer(), d, len, prec).toString());
+    }
+
+    /**
+    * Ausgabe von Gleitkommazahlen mit einer bestimmten L&auml;nge und
+    * einer bestimmten Anzahl von Nachkommastellen auf der Konsole,
+    * dem ein Zeilenwechsel folgt.
+    * @param d Wert, der ausgegeben werden soll
+    * @param len L&auml;nge der Ausgabe
+    * @param prec Anzahl der Nachkommastellen
+    */
+    default void println(double d, int len, int prec) {
+        print(d, len, prec);
+        print("\n");
+    }
+
+    /**
+    * Ausgabe eines zweidimensionalen Arrays als Tabelle: jede Zeile des
+    * Arrays in einer Zeile, jeder Wert wie bei <tt>print(d, len, prec)</tt>.
+    * Die ganze Tabelle wird in einem Puffer aufgebaut und mit einem
+    * einzigen Aufruf von <tt>print(String)</tt> ausgegeben.
+    * Ist das Array null (z.B. nach einem Fehler in readArray()), wird
+    * wie bei <tt>println(Object)</tt> "null" ausgegeben.
+    * @param a Die Werte (zeilenweise); null-Zeilen ergeben Leerzeilen
+    * @param len L&auml;nge der Ausgabe je Wert
+    * @param prec Anzahl der Nachkommastellen
+    */
+    default void printTable(double[][] a, int len, int prec) {
+        if (a == null) {
+            println((Object) null);
+            return;
+        }
+        long werte = 0;
+        for (double[] zeile : a)
+            werte += zeile == null ? 0 : zeile.length;
+        StringBuilder sb = new StringBuilder(
+            (int) Math.min(Integer.MAX_VALUE - 8, werte * Math.max(len, 1) + a.length));
+
+        for (double[] zeile : a) {
+            if (zeile != null)
+                for (double d : zeile)
+                    Zahlenformat.appendFixed(sb, d, len, prec);
+            sb.append('\n');
+        }
+        print(sb.toString());
+    }
+
+    /**
+    * Ausgabe einer Folge von Werten, ein Wert je Zeile, jeder Wert wie bei
+    * <tt>print(d, len, prec)</tt>. Die Ausgabe erfolgt mit einem
+    * einzigen Aufruf von <tt>print(String)</tt>. Ist das Array null,
+    * wird wie bei <tt>println(Object)</tt> "null" ausgegeben.
+    * @param a Die Werte
+    * @param len L&auml;nge der Ausgabe je Wert
+    * @param prec Anzahl der Nachkommastellen
+    */
+    default void printSequence(double[] a, int len, int prec) {
+        if (a == null) {
+            println((Object) null);
+            return;
+        }
+        StringBuilder sb = new StringBuilder(
+            (int) Math.min(Integer.MAX_VALUE - 8, (long) a.length * (Math.max(len, 1) + 1)));
+
+        for (double d : a)
+            Zahlenformat.appendFixed(sb, d, len, prec).append('\n');
+        print(sb.toString());
+    }
+
+// ===============================================================
+// ==== INPUT SECTION ============================================
+// ===============================================================
+
+    /**
+     * Einlesen einer Zeile als String!
+     * @return die eingegebene Zeile als String
+     */
+    default String readLine() { return readLine(""); }
+
+    /**
+     * Ausgabe eines Textes und Einlesen einer Zeichenkette (String)!
+     * @param prompt auszugebender Text
+     * @return der eingegebene Text als String
+     */
+    default String readString(String prompt) {
+        return readLine(prompt);
+    }
+
+    /**
+     * Einlesen einer Zeichenkette (String)!
+     * @return der eingegebene Text als String
+     */
+    default String readString() { return readString(""); }
+
+    /**
+     * Ausgabe eines Textes und Einlesen eines Zeichens (char)!
+     * @param prompt auszugebender Text
+     * @return das eingegebene Zeichen als char
+     */
+    default char readChar(String prompt) {
+        String input = readLine(prompt);
+
+        if (input != null && input.length() > 0)
+            return input.charAt(0);
+        return '\n';
+    }
+
+    /**
+     * Einlesen eines Zeichens (char)!
+     * @return das eingegebene Zeichen als char
+     */
+    default char readChar() { return readChar(""); }
+
+    /**
+     * Ausgabe eines Textes und Einlesen eines Wahrheitswertes (boolean)! <br>
+     * Als Wahrheitswert k&ouml;nnen diverse Zeichenketten eingegeben werden.
+     * Siehe hierzu die Auflistung bei den R&uuml;ckgabewerten!
+     * @param prompt auszugebender Text
+     * @return
+     *     true:  Bei Eingabe von true, yes, ja , t, j oder 1 <br>
+     *     false: Bei Eingabe von false, no, nein, f, n oder 0 
+     */
+    default boolean readBoolean(String prompt) {
+        boolean result = false;
+        boolean noValue;
+        String input;
+
+        do {
+            noValue = false;
+            input = readLine(prompt);
+
+            if (input == null || input.equals(""))
+                return result;
+
+            input = input.toUpperCase();
+            
+            if (input.equals("TRUE") || input.equals("YES") || input.equals("JA") ||
+                    input.equals("T") || input.equals("Y") || input.equals("J") ||
+                    input.equals("1")) {
+                result = true;
+            } else if (input.equals("FALSE") || input.equals("NO") || input.equals("NEIN") ||
+                    input.equals("F")       || input.equals("N")     ||
+                    input.equals("0")) {
+                result = false;
+            } else {
+                noValue = true;
+                prompt    = "Fehler! Bitte einen Wahrheitswert: ";
+            }
+        }
+        while (noValue);
+
+        return result;
+    }
+
+    /**
+     * Einlesen eines Wahrheitswertes (boolean)! <br>
+     * Als Wahrheitswert k&ouml;nnen diverse Zeichenketten eingegeben werden.
+     * Siehe hierzu die Auflistung bei den R&uuml;ckgabewerten!
+     * @return
+     *     true:  Bei Eingabe aus : true True TRUE yes Yes YES ja Ja JA t T y Y j J 1 <br>
+     *     false: Bei Eingabe aus : false False FALSE no No NO nein Nein NEIN f F n N 0 
+     */
+    default boolean readBoolean() { return readBoolean(""); }
+
+    /**
+     * Ausgabe eines Textes und Einlesen einer Ganzzahl (long)!
+     * @param prompt auszugebender Text
+     * @return das eingegebene Wert als long
+     */
+    default long readLong(String prompt) {
+        long result = 0L;
+        boolean noValue;
+
+        do {
+            noValue = false;
+
+            try {
+                String answer = readLine(prompt);
+                if (answer == null || answer.equals(""))
+                    return result;
+                result = (new Long(answer)).longValue();
+            } catch (NumberFormatException ex) {
+                noValue = true;
+                prompt = "Fehler! Bitte eine Ganzzahl: ";
+            }
+        }
+        while (noValue);
+
+        return result;
+    }
+
+    /**
+     * Einlesen einer Ganzzahl (long)!
+     * @return das eingegebene Wert als long
+     */
+    default long readLong() { return readLong(""); }
+
+    /**
+     * Ausgabe eines Textes und Einlesen einer Ganzzahl (int)!
+     * @param prompt auszugebender Text
+     * @return das eingegebene Wert als int
+     */
+    default int readInt(String prompt) { return (int) readLong(prompt); }
+
+    /**
+     * Einlesen einer Ganzzahl (int)!
+     * @return das eingegebene Wert als int
+     */
+    default int readInt() { return readInt(""); }
+    
+    /**
+     * Ausgabe eines Textes und Einlesen einer Ganzzahl (short)!
+     * @param prompt auszugebender Text
+     * @return das eingegebene Wert als short
+     */
+    default short readShort(String prompt) { return (short) readLong(prompt); }
+
+    /**
+     * Einlesen einer Ganzzahl (short)!
+     * @return das eingegebene Wert als short
+     */
+    default short readShort() { return readShort(""); }
+    
+    /**
+     * Ausgabe eines Textes und Einlesen einer Gleitkommazahl (double)!
+     * @param prompt auszugebender Text
+     * @return das eingegebene Wert als double
+     */
+    default double readDouble(String prompt) {
+        double result = 0.0;
+        boolean noValue;
+
+        do {
+            noValue = false;
+
+            try {
+                String answer = readLine(prompt);
+                if (answer == null || answer.equals(""))
+                    return result;
+                result = (new Double(answer)).doubleValue();
+            } catch (NumberFormatException ex) {
+                noValue = true;
+                prompt   = "Fehler! Bitte eine Gleitkommazahl: ";
+            }
+        }
+        while (noValue);
+
+        return result;
+    }
+
+    /**
+     * Einlesen einer Gleitkommazahl (double)!
+     * @return das eingegebene Wert als double
+     */
+    default double readDouble() { return readDouble(""); }
+
+    /**
+     * Ausgabe eines Textes und Einlesen einer Gleitkommazahl (float)!
+     * @param prompt auszugebender Text
+     * @return das eingegebene Wert als float
+     */
+    default float readFloat(String prompt) { return (float) readDouble(prompt); }
+
+    /**
+     * Einlesen einer Gleitkommazahl (float)!
+     * @return das eingegebene Wert als float
+     */
+    default float readFloat() { return readFloat(""); }
+
+    /**
+     * Ausgabe eines Textes und Einlesen eines Dateinamens (String)!
+     * @param prompt auszugebender Text
+     * @return der Dateiname als String, oder null bei leerer Eingabe
+     */
+    default String readFilename(String prompt) {
+        String name = readLine(prompt);
+
+        if (name.length() == 0) {
+            return null;
+        }
+        return name;
+    }
+
+
+
+// ===============================================================
+// ==== FILE INPUT SECTION =======================================
+// ===============================================================
+
+    /*
+     * Uebernommen zum WS 2013/14 aus der Klasse JArrayUtilities.
+     * 
+     * Hilfsfunktionen zum Einlesen eines Arrays aus einer Datei sowie eine Methode
+     * zum Veraendern eines Arrays (removeLastColumn())
+     */
+
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein zweidimensionales Array
+     * vom Datentyp double. Jede Zeile in der Datei wird als Array-Zeile aufgefasst.
+     * wenn sie die gleiche Anzahl Zahlen wie die erste Zeile (mit mehr als einer Zahl)
+     * enthaelt.
+     * <p>
+     * Um Zahlen zu erkennen, werden alle Whitespace-Zeichen (Leerzeichen, Tabulator) sowie
+     * alle Satzzeichen (ausser Punkt!) und alle Klammern (rund, eckig, spitz, geschweift) als
+     * Trennzeichen angesehen.
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[][] readArray(String filename) throws IOException
+    {
+        return readArray(filename, "", true);
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein zweidimensionales Array
+     * vom Datentyp double. Jede Zeile in der Datei wird als Array-Zeile aufgefasst.
+     * wenn sie die gleiche Anzahl Zahlen wie die erste Zeile (mit mehr als einer Zahl)
+     * enthaelt.
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim  Zeichenkette mit allen Trennzeichen (zu ignorierenden Zeichen) in der Datei.
+     * @param appendDelim Die uebergebenen Trennzeichen sollen zusaetzlich zu den Standardtrennzeichen benutzt werden.
+     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[][] readArray(String filename, String delim, boolean appendDelim) throws IOException
+    {
+        return ArrayLoader.readArray(filename, ArrayLoader.delimiters(delim, appendDelim));
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein eindimensionales Array
+     * vom Datentyp double. Jede Zeile in der Datei wird als Array-Zeile aufgefasst.
+     * wenn sie genau eine Zahl enthaelt.
+     * <p>
+     * Um Zahlen zu erkennen, werden alle Whitespace-Zeichen (Leerzeichen, Tabulator) sowie
+     * alle Satzzeichen (ausser Punkt!) und alle Klammern (rund, eckig, spitz, geschweift) als
+     * Trennzeichen angesehen.
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[] readSequence(String filename) throws IOException
+    {
+        return readSequence(filename, "", false);
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein eindimensionales Array
+     * vom Datentyp double. Jede Zeile in der Datei wird als Array-Zeile aufgefasst.
+     * wenn sie genau eine Zahl enthaelt.
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim  Zeichenkette mit allen Trennzeichen (zu ignorierenden Zeichen) in der Datei.
+     * @param appendDelim Die uebergebenen Trennzeichen sollen zusaetzlich zu den Standardtrennzeichen benutzt werden.
+     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[] readSequence(String filename, String delim, boolean appendDelim) throws IOException
+    {
+        return ArrayLoader.readSequence(filename, ArrayLoader.delimiters(delim, appendDelim));
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein zweidimensionales Array
+     * wie readArray(). Die Datei wird dazu in den Speicher eingeblendet
+     * (<tt>FileChannel.map()</tt>) und direkt byteweise zerlegt, ohne f&uuml;r
+     * jede Zeile einen String anzulegen. Dateien &uuml;ber 2 GB werden
+     * abschnittsweise eingeblendet.
+     * <p>
+     * Gedacht f&uuml;r gro&szlig;e ASCII-Dateien: Jedes Byte wird als ein Zeichen
+     * aufgefasst. F&uuml;r ASCII-Dateien ist das Ergebnis identisch mit readArray().
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[][] readArrayMapped(String filename) throws IOException
+    {
+        return readArrayMapped(filename, "", true);
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein zweidimensionales Array
+     * wie readArray(). Die Datei wird dazu in den Speicher eingeblendet
+     * (<tt>FileChannel.map()</tt>) und direkt byteweise zerlegt.
+     * Enthalten die Trennzeichen Nicht-ASCII-Zeichen, wird wie bei readArray()
+     * gelesen.
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim  Zeichenkette mit allen Trennzeichen (zu ignorierenden Zeichen) in der Datei.
+     * @param appendDelim Die uebergebenen Trennzeichen sollen zusaetzlich zu den Standardtrennzeichen benutzt werden.
+     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[][] readArrayMapped(String filename, String delim, boolean appendDelim) throws IOException
+    {
+        return ArrayLoader.readArrayMapped(filename, ArrayLoader.delimiters(delim, appendDelim));
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein eindimensionales Array
+     * wie readSequence(). Die Datei wird dazu in den Speicher eingeblendet
+     * (<tt>FileChannel.map()</tt>) und direkt byteweise zerlegt.
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @return Das eindimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[] readSequenceMapped(String filename) throws IOException
+    {
+        return readSequenceMapped(filename, "", false);
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein eindimensionales Array
+     * wie readSequence(). Die Datei wird dazu in den Speicher eingeblendet
+     * (<tt>FileChannel.map()</tt>) und direkt byteweise zerlegt.
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim  Zeichenkette mit allen Trennzeichen (zu ignorierenden Zeichen) in der Datei.
+     * @param appendDelim Die uebergebenen Trennzeichen sollen zusaetzlich zu den Standardtrennzeichen benutzt werden.
+     * @return Das eindimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[] readSequenceMapped(String filename, String delim, boolean appendDelim) throws IOException
+    {
+        return ArrayLoader.readSequenceMapped(filename, ArrayLoader.delimiters(delim, appendDelim));
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein zweidimensionales Array
+     * wie readArrayMapped(). Die Datei wird dazu an Zeilengrenzen in Abschnitte
+     * zerlegt, die auf allen Prozessorkernen gleichzeitig gelesen werden.
+     * Reihenfolge und Auswahl der Zeilen sind wie bei readArray(): Die erste
+     * Zeile mit mindestens zwei Zahlen bestimmt die Spaltenanzahl.
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[][] readArrayParallel(String filename) throws IOException
+    {
+        return readArrayParallel(filename, "", true);
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein zweidimensionales Array
+     * wie readArrayMapped(). Die Datei wird dazu an Zeilengrenzen in Abschnitte
+     * zerlegt, die auf allen Prozessorkernen gleichzeitig gelesen werden.
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim  Zeichenkette mit allen Trennzeichen (zu ignorierenden Zeichen) in der Datei.
+     * @param appendDelim Die uebergebenen Trennzeichen sollen zusaetzlich zu den Standardtrennzeichen benutzt werden.
+     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[][] readArrayParallel(String filename, String delim, boolean appendDelim) throws IOException
+    {
+        return ArrayLoader.readArrayParallel(filename, ArrayLoader.delimiters(delim, appendDelim));
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein eindimensionales Array
+     * wie readSequenceMapped(). Die Datei wird dazu an Zeilengrenzen in Abschnitte
+     * zerlegt, die auf allen Prozessorkernen gleichzeitig gelesen werden.
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @return Das eindimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[] readSequenceParallel(String filename) throws IOException
+    {
+        return readSequenceParallel(filename, "", false);
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein eindimensionales Array
+     * wie readSequenceMapped(). Die Datei wird dazu an Zeilengrenzen in Abschnitte
+     * zerlegt, die auf allen Prozessorkernen gleichzeitig gelesen werden.
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim  Zeichenkette mit allen Trennzeichen (zu ignorierenden Zeichen) in der Datei.
+     * @param appendDelim Die uebergebenen Trennzeichen sollen zusaetzlich zu den Standardtrennzeichen benutzt werden.
+     * @return Das eindimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[] readSequenceParallel(String filename, String delim, boolean appendDelim) throws IOException
+    {
+        return ArrayLoader.readSequenceParallel(filename, ArrayLoader.delimiters(delim, appendDelim));
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein zweidimensionales Array
+     * wie readArray(). Das Ergebnis wird zus&auml;tzlich in einer bin&auml;ren
+     * Zwischendatei (Dateiname mit Endung <tt>.jcache</tt>) abgelegt. Wird
+     * dieselbe Datei erneut gelesen, werden die Werte direkt aus der
+     * Zwischendatei geholt. &Auml;ndert sich die Textdatei (Zeitstempel oder
+     * Gr&ouml;&szlig;e), wird sie neu gelesen.
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[][] readArrayCached(String filename) throws IOException
+    {
+        return readArrayCached(filename, "", true);
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein zweidimensionales Array
+     * wie readArray(), &uuml;ber eine bin&auml;re Zwischendatei (siehe
+     * readArrayCached(String)).
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim  Zeichenkette mit allen Trennzeichen (zu ignorierenden Zeichen) in der Datei.
+     * @param appendDelim Die uebergebenen Trennzeichen sollen zusaetzlich zu den Standardtrennzeichen benutzt werden.
+     * @return Das zweidimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[][] readArrayCached(String filename, String delim, boolean appendDelim) throws IOException
+    {
+        return ArrayCache.readArray(filename, ArrayLoader.delimiters(delim, appendDelim));
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein eindimensionales Array
+     * wie readSequence(), &uuml;ber eine bin&auml;re Zwischendatei (siehe
+     * readArrayCached(String)).
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @return Das eindimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[] readSequenceCached(String filename) throws IOException
+    {
+        return readSequenceCached(filename, "", false);
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in ein eindimensionales Array
+     * wie readSequence(), &uuml;ber eine bin&auml;re Zwischendatei (siehe
+     * readArrayCached(String)).
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim  Zeichenkette mit allen Trennzeichen (zu ignorierenden Zeichen) in der Datei.
+     * @param appendDelim Die uebergebenen Trennzeichen sollen zusaetzlich zu den Standardtrennzeichen benutzt werden.
+     * @return Das eindimensionale Array vom Datentype double. Oder null im Fehlerfall.
+     */
+    default double[] readSequenceCached(String filename, String delim, boolean appendDelim) throws IOException
+    {
+        return ArrayCache.readSequence(filename, ArrayLoader.delimiters(delim, appendDelim));
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in eine Matrix. Es gelten die
+     * gleichen Regeln wie bei readArray(). Anders als bei readArray() stehen
+     * alle Werte in einem einzigen Array, und zwar spaltenweise. Das spart
+     * ein Objekt je Zeile und beschleunigt Berechnungen &uuml;ber Spalten.
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @return Die Matrix. Oder null im Fehlerfall.
+     */
+    default DoubleMatrix readMatrix(String filename) throws IOException
+    {
+        return readMatrix(filename, "", true);
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei in eine Matrix. Es gelten die
+     * gleichen Regeln wie bei readArray(). Alle Werte stehen spaltenweise in
+     * einem einzigen Array.
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim  Zeichenkette mit allen Trennzeichen (zu ignorierenden Zeichen) in der Datei.
+     * @param appendDelim Die uebergebenen Trennzeichen sollen zusaetzlich zu den Standardtrennzeichen benutzt werden.
+     * @return Die Matrix. Oder null im Fehlerfall.
+     */
+    default DoubleMatrix readMatrix(String filename, String delim, boolean appendDelim) throws IOException
+    {
+        return ArrayLoader.readMatrix(filename, ArrayLoader.delimiters(delim, appendDelim));
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei und gibt jede Zeile einzeln an
+     * <tt>action</tt> weiter, ohne das ganze Array anzulegen. Es gelten die
+     * gleichen Regeln wie bei readArray(). So k&ouml;nnen z.B. Summen oder
+     * Mittelwerte &uuml;ber Dateien gebildet werden, die nicht in den Speicher
+     * passen.
+     * <p>
+     * <b>Achtung:</b> Alle Zeilen werden in demselben Array &uuml;bergeben. Soll
+     * eine Zeile aufbewahrt werden, muss sie kopiert werden (z.B. mit
+     * <tt>row.clone()</tt>).
+     * <pre>
+     *     double[] summe = new double[1];
+     *     fenster.forEachRow("messung.txt", row -&gt; summe[0] += row[1]);
+     * </pre>
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param action Wird f&uuml;r jede Zeile aufgerufen.
+     * @return Die Anzahl der Zeilen.
+     */
+    default long forEachRow(String filename, Consumer<double[]> action) throws IOException
+    {
+        return forEachRow(filename, "", true, action);
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei und gibt jede Zeile einzeln an
+     * <tt>action</tt> weiter, ohne das ganze Array anzulegen. Es gelten die
+     * gleichen Regeln wie bei readArray(). Alle Zeilen werden in demselben
+     * Array &uuml;bergeben!
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim  Zeichenkette mit allen Trennzeichen (zu ignorierenden Zeichen) in der Datei.
+     * @param appendDelim Die uebergebenen Trennzeichen sollen zusaetzlich zu den Standardtrennzeichen benutzt werden.
+     * @param action Wird f&uuml;r jede Zeile aufgerufen.
+     * @return Die Anzahl der Zeilen.
+     */
+    default long forEachRow(String filename, String delim, boolean appendDelim,
+                           Consumer<double[]> action) throws IOException
+    {
+        return ArrayLoader.forEachRow(filename, ArrayLoader.delimiters(delim, appendDelim), action);
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei und gibt jeden Wert einzeln an
+     * <tt>action</tt> weiter, ohne das ganze Array anzulegen. Es gelten die
+     * gleichen Regeln wie bei readSequence().
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param action Wird f&uuml;r jeden Wert aufgerufen.
+     * @return Die Anzahl der Werte, oder -1 im Fehlerfall (siehe readSequence()).
+     *         Bis dahin gelesene Werte wurden bereits weitergegeben.
+     */
+    default long forEachValue(String filename, DoubleConsumer action) throws IOException
+    {
+        return forEachValue(filename, "", false, action);
+    }
+    
+    /**
+     * Liest Zahlenwerte aus einer Textdatei und gibt jeden Wert einzeln an
+     * <tt>action</tt> weiter, ohne das ganze Array anzulegen. Es gelten die
+     * gleichen Regeln wie bei readSequence().
+     * 
+     * @param filename Zeichenkette mit dem Namen der Datei.
+     * @param delim  Zeichenkette mit allen Trennzeichen (zu ignorierenden Zeichen) in der Datei.
+     * @param appendDelim Die uebergebenen Trennzeichen sollen zusaetzlich zu den Standardtrennzeichen benutzt werden.
+     * @param action Wird f&uuml;r jeden Wert aufgerufen.
+     * @return Die Anzahl der Werte, oder -1 im Fehlerfall (siehe readSequence()).
+     *         Bis dahin gelesene Werte wurden bereits weitergegeben.
+     */
+    default long forEachValue(String filename, String delim, boolean appendDelim,
+                             DoubleConsumer action) throws IOException
+    {
+        return ArrayLoader.forEachValue(filename, ArrayLoader.delimiters(delim, appendDelim), action);
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * Interface LongOperator
+ * 
+ * Ein Operator mit zwei ganzzahligen Operanden vom Datentyp long.
+ * Alle Operatoren werfen bei einem &Uuml;berlauf eine ArithmeticException,
+ * statt ein falsches Ergebnis zu liefern (bei DIV nur Long.MIN_VALUE / -1).
+ */
+@FunctionalInterface
+public interface LongOperator
+{
+    LongOperator ADD = Math::addExact;
+    LongOperator SUB = Math::subtractExact;
+    LongOperator MUL = Math::multiplyExact;
+    LongOperator DIV = (a, b) -> { // ganzzahlig, ArithmeticException bei b == 0
+        if (a == Long.MIN_VALUE && b == -1) {
+            throw new ArithmeticException("long overflow"); // -Long.MIN_VALUE
+        }
+        return a / b;
+    };
+
+    long calculate(long a, long b);
+}
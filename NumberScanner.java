@@ -0,0 +1,373 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse NumberScanner
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Zerlegen einer Zeile und Erkennen der Zahlen in einem
+ *            Durchlauf (ersetzt StringTokenizer + Double.parseDouble()
+ *            mit NumberFormatException in readArray()/readSequence())
+ * 2026-10-18 Schneller Pfad fuer einfache Dezimalzahlen (Clinger)
+ * 2026-10-18 tokens() und leadingNumber(): auch Token erkennen, die keine
+ *            Zahlen sind (fuer readSequence() und den Stapelbetrieb)
+ * ==================================================================
+ */
+import java.util.*;
+
+/**
+ * Zerlegt eine Zeile in Token und liest alle Token, die Zahlen sind, in einem
+ * einzigen Durchlauf &uuml;ber die Zeichen.
+ * <p>
+ * Ein Token ist - wie bei <tt>java.util.StringTokenizer</tt> - eine
+ * m&ouml;glichst lange Folge von Zeichen, die keine Trennzeichen sind. Ein Token
+ * gilt genau dann als Zahl, wenn <tt>Double.parseDouble()</tt> es akzeptieren
+ * w&uuml;rde. Die Pr&uuml;fung erfolgt jedoch ohne Exceptions.
+ * <p>
+ * Ein Objekt dieser Klasse ist nicht threadsicher. Die gelesenen Werte stehen
+ * bis zum n&auml;chsten Aufruf von <tt>scan()</tt> in <tt>values()</tt>.
+ */
+final class NumberScanner
+{
+    private final boolean[] table = new boolean[128]; // ASCII-Trennzeichen
+    private final String delim; // Alle Trennzeichen
+    private final boolean surrogates; // Trennzeichen ausserhalb der BMP?
+    private double[] values = new double[16]; // Gelesene Werte der Zeile
+    private double value; // Ergebnis von parseNumber()
+    private int tokens; // Anzahl aller Token der letzten Zeile
+    private boolean leading; // War das erste Token der letzten Zeile eine Zahl?
+
+    /**
+     * Erzeugt einen Scanner f&uuml;r die angegebenen Trennzeichen.
+     *
+     * @param delim Zeichenkette mit allen Trennzeichen.
+     */
+    NumberScanner(String delim)
+    {
+        boolean sur = false;
+
+        for (int i = 0; i < delim.length(); i++) {
+            char c = delim.charAt(i);
+            if (c < 128) {
+                table[c] = true;
+            }
+            else if (Character.isSurrogate(c)) {
+                sur = true;
+            }
+        }
+        this.delim = delim;
+        this.surrogates = sur;
+    }
+
+    /**
+     * Die Werte der zuletzt gelesenen Zeile. Das Array wird wiederverwendet!
+     *
+     * @return Die Werte; g&uuml;ltig sind die ersten <tt>scan()</tt> Eintr&auml;ge.
+     */
+    double[] values() { return values; }
+
+    /**
+     * Die Anzahl aller Token, die der letzte Aufruf von <tt>scan()</tt>
+     * gelesen hat, einschlie&szlig;lich der Token, die keine Zahlen sind.
+     * Ist sie gr&ouml;&szlig;er als die Anzahl der Zahlen, enthielt die Zeile
+     * (bis zur letzten gelesenen Zahl bzw. bis zum Ende) andere Token.
+     *
+     * @return Die Anzahl der Token.
+     */
+    int tokens() { return tokens; }
+
+    /**
+     * @return true, wenn das erste Token der zuletzt gelesenen Zeile eine
+     *         Zahl war.
+     */
+    boolean leadingNumber() { return leading; }
+
+    /**
+     * Liest h&ouml;chstens <tt>max</tt> Zahlen aus den Zeichen
+     * <tt>buf[from]</tt> bis <tt>buf[to - 1]</tt>.
+     *
+     * @param buf Die Zeichen der Zeile.
+     * @param from Index des ersten Zeichens.
+     * @param to Index hinter dem letzten Zeichen.
+     * @param max Maximale Anzahl zu lesender Zahlen.
+     * @return Die Anzahl der gelesenen Zahlen.
+     */
+    int scan(char[] buf, int from, int to, int max)
+    {
+        int i = from;
+        int ta = 0; // Anzahl gelesener Zahlen
+
+        tokens = 0;
+        leading = false;
+        while (ta < max) {
+            // Trennzeichen ueberlesen
+            int n;
+            while (i < to && (n = delimLength(buf, i, to)) > 0) {
+                i += n;
+            }
+            if (i >= to) {
+                break;
+            }
+
+            // Ende des Tokens suchen
+            int start = i;
+            while (i < to && delimLength(buf, i, to) == 0) {
+                i += charLength(buf, i, to);
+            }
+
+            tokens++;
+            if (parseNumber(buf, start, i)) {
+                if (tokens == 1) {
+                    leading = true;
+                }
+                if (ta == values.length) {
+                    values = Arrays.copyOf(values, 2 * ta);
+                }
+                values[ta++] = value;
+            }
+        }
+        return ta;
+    }
+
+    // Laenge des Trennzeichens an Position i, oder 0 wenn dort kein Trennzeichen steht
+    private int delimLength(char[] buf, int i, int to)
+    {
+        char c = buf[i];
+
+        if (c < 128) {
+            return table[c] ? 1 : 0;
+        }
+        if (surrogates) {
+            // Wie StringTokenizer: Vergleich ganzer Codepoints
+            int cp = Character.codePointAt(buf, i, to);
+            return delim.indexOf(cp) >= 0 ? Character.charCount(cp) : 0;
+        }
+        return delim.indexOf(c) >= 0 ? 1 : 0;
+    }
+
+    // Laenge des Zeichens an Position i (2 bei einem Surrogat-Paar)
+    private int charLength(char[] buf, int i, int to)
+    {
+        if (surrogates) {
+            return Character.charCount(Character.codePointAt(buf, i, to));
+        }
+        return 1;
+    }
+
+// ===============================================================
+// ==== NUMBER SYNTAX SECTION ====================================
+// ===============================================================
+
+    // Exakt darstellbare Zehnerpotenzen 10^0 bis 10^22
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Hoechstens so viele signifikante Ziffern passen exakt in die Mantisse
+    private static final int MAX_DIGITS = 15;
+
+    /*
+     * Prueft, ob Double.parseDouble() das Token akzeptieren wuerde, und
+     * speichert in diesem Fall den Wert in value:
+     *
+     *   [+-] ( NaN | Infinity | Dezimalzahl | Hexadezimalzahl )
+     *
+     * Dezimalzahl:     Ziffern mit hoechstens einem Punkt, [eE[+-]Ziffern], [fFdD]
+     * Hexadezimalzahl: 0x Hexziffern mit hoechstens einem Punkt, pP[+-]Ziffern, [fFdD]
+     *
+     * Fuehrende und abschliessende Zeichen <= ' ' werden wie bei
+     * String.trim() ignoriert.
+     *
+     * Dezimalzahlen mit hoechstens 15 signifikanten Ziffern und kleinem
+     * Exponenten werden direkt berechnet (schneller Pfad nach Clinger): Die
+     * Ziffern ergeben eine ganze Zahl < 2^53, die ebenso wie 10^k (k <= 22)
+     * exakt als double darstellbar ist. Eine einzige Multiplikation bzw.
+     * Division ist dann nach IEEE 754 korrekt gerundet, das Ergebnis also
+     * bitgleich mit Double.parseDouble(). Alle anderen Zahlen werden mit
+     * Double.parseDouble() umgewandelt.
+     */
+    private boolean parseNumber(char[] b, int s, int e)
+    {
+        while (s < e && b[s] <= ' ') {
+            s++;
+        }
+        while (e > s && b[e - 1] <= ' ') {
+            e--;
+        }
+        if (s >= e) {
+            return false;
+        }
+
+        int i = s;
+        boolean negative = false;
+        if (b[i] == '+' || b[i] == '-') {
+            negative = b[i] == '-';
+            if (++i >= e) {
+                return false;
+            }
+        }
+
+        char c = b[i];
+        if (c == 'N') {
+            value = Double.NaN;
+            return matches(b, i, e, "NaN");
+        }
+        if (c == 'I') {
+            value = negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            return matches(b, i, e, "Infinity");
+        }
+        if (c == '0' && i + 1 < e && (b[i + 1] == 'x' || b[i + 1] == 'X')) {
+            if (!isHexNumber(b, i + 2, e)) {
+                return false;
+            }
+            value = Double.parseDouble(new String(b, s, e - s));
+            return true;
+        }
+
+        // Mantisse
+        long mant = 0; // Die Ziffern als ganze Zahl (ohne fuehrende Nullen)
+        int nd = 0; // Anzahl der Ziffern in mant
+        int digits = 0; // Anzahl aller Ziffern
+        int frac = 0; // Anzahl der Ziffern in mant hinter dem Punkt
+        boolean point = false;
+        for (; i < e; i++) {
+            c = b[i];
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (nd > 0 || c != '0') {
+                    if (nd < MAX_DIGITS) {
+                        mant = 10 * mant + (c - '0');
+                    }
+                    nd++;
+                }
+                if (point) {
+                    frac++;
+                }
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        // Exponent
+        int exp = 0;
+        if (i < e && (b[i] == 'e' || b[i] == 'E')) {
+            int start = ++i;
+            boolean expNegative = false;
+            if (i < e && (b[i] == '+' || b[i] == '-')) {
+                expNegative = b[i] == '-';
+                start = ++i;
+            }
+            while (i < e && b[i] >= '0' && b[i] <= '9') {
+                if (exp < 100000) {
+                    exp = 10 * exp + (b[i] - '0');
+                }
+                i++;
+            }
+            if (i == start) {
+                return false;
+            }
+            if (expNegative) {
+                exp = -exp;
+            }
+        }
+        if (!isEnd(b, i, e)) {
+            return false;
+        }
+
+        // Schneller Pfad
+        if (nd <= MAX_DIGITS) {
+            int e10 = exp - frac;
+            double d = mant;
+            if (mant == 0) {
+                value = negative ? -0.0 : 0.0;
+                return true;
+            }
+            if (e10 >= 0 && e10 <= 22) {
+                value = negative ? -(d * POW10[e10]) : d * POW10[e10];
+                return true;
+            }
+            if (e10 < 0 && e10 >= -22) {
+                value = negative ? -(d / POW10[-e10]) : d / POW10[-e10];
+                return true;
+            }
+            if (e10 > 22 && e10 - 22 <= MAX_DIGITS - nd) {
+                // mant * 10^(e10 - 22) ist noch eine exakte ganze Zahl < 10^15
+                d *= POW10[e10 - 22];
+                value = negative ? -(d * 1e22) : d * 1e22;
+                return true;
+            }
+        }
+        value = Double.parseDouble(new String(b, s, e - s));
+        return true;
+    }
+
+    // 0x-Zahl ab der ersten Hexziffer (Position hinter "0x")
+    private static boolean isHexNumber(char[] b, int i, int e)
+    {
+        int digits = 0;
+
+        while (i < e && isHexDigit(b[i])) {
+            i++;
+            digits++;
+        }
+        if (i < e && b[i] == '.') {
+            i++;
+            while (i < e && isHexDigit(b[i])) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0 || i >= e || (b[i] != 'p' && b[i] != 'P')) {
+            return false;
+        }
+        i = skipExponent(b, i + 1, e);
+        return i >= 0 && isEnd(b, i, e);
+    }
+
+    private static boolean isHexDigit(char c)
+    {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    // Ueberliest [+-]Ziffern; liefert die Position dahinter oder -1
+    private static int skipExponent(char[] b, int i, int e)
+    {
+        if (i < e && (b[i] == '+' || b[i] == '-')) {
+            i++;
+        }
+        int start = i;
+        while (i < e && b[i] >= '0' && b[i] <= '9') {
+            i++;
+        }
+        return i == start ? -1 : i;
+    }
+
+    // Ende des Tokens erreicht, evtl. nach einem Typ-Suffix?
+    private static boolean isEnd(char[] b, int i, int e)
+    {
+        if (i == e) {
+            return true;
+        }
+        char c = b[i];
+        return i == e - 1 && (c == 'f' || c == 'F' || c == 'd' || c == 'D');
+    }
+
+    private static boolean matches(char[] b, int i, int e, String word)
+    {
+        if (e - i != word.length()) {
+            return false;
+        }
+        for (int k = 0; k < word.length(); k++) {
+            if (b[i + k] != word.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
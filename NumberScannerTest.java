@@ -0,0 +1,212 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse NumberScannerTest
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Differenztest NumberScanner gegen Double.parseDouble()
+ * ==================================================================
+ */
+import java.util.*;
+
+/**
+ * Vergleicht <tt>NumberScanner</tt> mit <tt>Double.parseDouble()</tt>: Jedes
+ * Token muss genau dann als Zahl gelten, wenn <tt>Double.parseDouble()</tt> es
+ * akzeptiert, und dann denselben Wert Bit f&uuml;r Bit ergeben. Gepr&uuml;ft
+ * werden feste Grenzf&auml;lle (15/16 signifikante Ziffern, Exponent um
+ * &plusmn;22, subnormale Zahlen, -0, Hexadezimalzahlen, NaN/Infinity,
+ * Endungen f/d) und zuf&auml;llige Eingaben mit festem Startwert.
+ * <p>
+ * Aufruf: <tt>java NumberScannerTest [anzahl]</tt>; bei einem Fehler endet
+ * das Programm mit dem Status 1.
+ */
+final class NumberScannerTest
+{
+    private static final String[] FAELLE = {
+        // Null und Vorzeichen
+        "0", "-0", "+0", "0.0", "-0.0", "00", "-000.000", "0e5", "-0e-400", "0x0p0", "-0x0p0",
+        // Schneller Pfad: Grenzen von e10 und Ziffernanzahl
+        "1e22", "1e23", "-1e22", "1e-22", "1e-23", "123456789012345e-22",
+        "123456789012345e-23", "123456789012345e7", "123456789012345e8", "1e37", "1e38",
+        "999999999999999", "9999999999999999", "1000000000000000", "100000000000000.0",
+        "123456789012345", "1234567890123456", "0.123456789012345", "0.1234567890123456",
+        "9007199254740991", "9007199254740992", "9007199254740993", "1.7976931348623157e308",
+        "1.7976931348623159e308", "1e309", "-1e309", "0.000000000000000000000001",
+        "100000000000000000000000", "1.00000000000000000000001",
+        // Subnormal und Unterlauf
+        "4.9e-324", "5e-324", "2e-324", "3e-324", "2.4703282292062327e-324",
+        "2.4703282292062328e-324", "2.2250738585072014E-308", "2.2250738585072011e-308",
+        "1e-400", "-1e-400",
+        // Hexadezimal
+        "0x1p3", "0X1.8p-2", "-0x1.fffffffffffffp1023", "0x.8p1", "0x1.p0", "0x1P+4",
+        "0x1p-1074", "0x1p-1075", "0x1p3f", "0x1p3D", "0x1", "0x1p", "0xp1", "0x.p1", "0x1g",
+        // NaN und Infinity
+        "NaN", "-NaN", "+NaN", "Infinity", "-Infinity", "+Infinity", "nan", "Inf",
+        "Infinityx", "NaNf", "Infinityd",
+        // Endungen
+        "1f", "1F", "1d", "1D", "1.5f", "1e5d", "-.5F", "1.e3d", "1ef", "1fd", "f", "d",
+        // Ungueltige Formen
+        "", "+", "-", ".", "e5", ".e5", "1e", "1e+", "1e-", "--1", "+-1", "1..2", "1.2.3",
+        "1e5.5", "1e5e5", "1x", "abc", "1,5", "5.", ".5", "1e+05", "1E-05", "00000000000000001.5",
+        "1e99999999999", "1e-99999999999",
+    };
+
+    private static final String ZEICHEN = "0123456789.eE+-fFdDxXpPNIa";
+
+    public static void main(String[] args)
+    {
+        int anzahl = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        NumberScanner scanner = new NumberScanner(" ");
+        Random r = new Random(20261018L);
+        int fehler = 0;
+        int n = 0;
+
+        for (String s : FAELLE) {
+            fehler += vergleiche(scanner, s);
+            n++;
+        }
+        for (int i = 0; i < anzahl; i++) {
+            fehler += vergleiche(scanner, dezimal(r));
+            fehler += vergleiche(scanner, grenzfall(r));
+            fehler += vergleiche(scanner, bitmuster(r));
+            fehler += vergleiche(scanner, zufall(r));
+            n += 4;
+            if (fehler > 20) {
+                break;
+            }
+        }
+        System.out.println(fehler == 0 ? "OK: " + n + " Eingaben" : fehler + " Fehler");
+        if (fehler > 0) {
+            System.exit(1);
+        }
+    }
+
+    // 0 wenn beide dasselbe Ergebnis liefern, sonst 1 (mit Meldung)
+    private static int vergleiche(NumberScanner scanner, String s)
+    {
+        String soll;
+        try {
+            soll = bits(Double.parseDouble(s));
+        }
+        catch (NumberFormatException e) {
+            soll = "keine Zahl";
+        }
+
+        char[] buf = s.toCharArray();
+        String ist = scanner.scan(buf, 0, buf.length, 1) == 1
+            ? bits(scanner.values()[0]) : "keine Zahl";
+
+        if (!soll.equals(ist)) {
+            System.out.println("FEHLER: '" + s + "' ergibt " + ist + ", erwartet " + soll);
+            return 1;
+        }
+        return 0;
+    }
+
+    private static String bits(double d)
+    {
+        return Long.toHexString(Double.doubleToRawLongBits(d)) + " (" + d + ")";
+    }
+
+    // Zufaellige Dezimalzahl: Vorzeichen, 1-20 Ziffern mit Punkt,
+    // Exponent und Endung
+    private static String dezimal(Random r)
+    {
+        StringBuilder sb = new StringBuilder();
+        vorzeichen(r, sb);
+        int ziffern = 1 + r.nextInt(20);
+        int punkt = r.nextInt(ziffern + 2) - 1; // -1: ohne Punkt
+        for (int i = 0; i < ziffern; i++) {
+            if (i == punkt) {
+                sb.append('.');
+            }
+            sb.append((char) ('0' + r.nextInt(10)));
+        }
+        if (punkt == ziffern) {
+            sb.append('.');
+        }
+        if (r.nextInt(3) == 0) {
+            sb.append(r.nextBoolean() ? 'e' : 'E');
+            vorzeichen(r, sb);
+            sb.append(r.nextInt(5) == 0 ? r.nextInt(400) : r.nextInt(40));
+        }
+        endung(r, sb);
+        return sb.toString();
+    }
+
+    // Genau 15 oder 16 signifikante Ziffern (auch mit fuehrenden und
+    // abschliessenden Nullen), Zehnerexponent nahe -22 bzw. +22
+    private static String grenzfall(Random r)
+    {
+        StringBuilder sb = new StringBuilder();
+        vorzeichen(r, sb);
+        boolean bruch = r.nextBoolean();
+        if (bruch) {
+            sb.append("0.");
+            for (int i = r.nextInt(4); i > 0; i--) {
+                sb.append('0');
+            }
+        }
+        int ziffern = 15 + r.nextInt(2);
+        sb.append((char) ('1' + r.nextInt(9)));
+        for (int i = 1; i < ziffern; i++) {
+            sb.append((char) ('0' + r.nextInt(10)));
+        }
+        for (int i = r.nextInt(3); i > 0; i--) {
+            sb.append('0');
+        }
+        // Exponent so waehlen, dass Ziffern * 10^e10 mit e10 nahe +-22
+        int nachkomma = bruch ? sb.length() - sb.indexOf(".") - 1 : 0;
+        int e10 = (r.nextBoolean() ? 22 : -22) + r.nextInt(17) - 8;
+        sb.append('e').append(e10 + nachkomma);
+        endung(r, sb);
+        return sb.toString();
+    }
+
+    // Zufaelliges Bitmuster (auch subnormal), als Dezimal- oder Hexadezimalzahl
+    private static String bitmuster(Random r)
+    {
+        long bits = r.nextLong();
+        if (r.nextInt(4) == 0) {
+            bits &= 0x800fffffffffffffL; // Subnormal
+        }
+        double d = Double.longBitsToDouble(bits);
+        switch (r.nextInt(3)) {
+        case 0:
+            return Double.toHexString(d);
+        case 1:
+            return String.format(Locale.ROOT, "%.17g", d);
+        default:
+            return Double.toString(d);
+        }
+    }
+
+    // Beliebige kurze Zeichenfolge aus Zeichen, die in Zahlen vorkommen
+    private static String zufall(Random r)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1 + r.nextInt(8); i > 0; i--) {
+            sb.append(ZEICHEN.charAt(r.nextInt(ZEICHEN.length())));
+        }
+        return sb.toString();
+    }
+
+    private static void vorzeichen(Random r, StringBuilder sb)
+    {
+        int v = r.nextInt(4);
+        if (v == 0) {
+            sb.append('-');
+        }
+        else if (v == 1) {
+            sb.append('+');
+        }
+    }
+
+    private static void endung(Random r, StringBuilder sb)
+    {
+        if (r.nextInt(8) == 0) {
+            sb.append("fFdD".charAt(r.nextInt(4)));
+        }
+    }
+}
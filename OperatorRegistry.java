@@ -0,0 +1,104 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse OperatorRegistry
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Operatoren nach Symbol verwalten (Tabelle statt if-Ketten)
+ * ==================================================================
+ */
+import java.util.*;
+
+/**
+ * Verzeichnis von Operatoren, die &uuml;ber ihr Symbol (z.B. <tt>"+"</tt>)
+ * gefunden werden.
+ * <p>
+ * Symbole aus einem einzelnen ASCII-Zeichen stehen in einer Tabelle, die
+ * direkt mit dem Zeichen indiziert wird. Die Suche kostet damit einen
+ * Array-Zugriff, unabh&auml;ngig von der Anzahl der Operatoren. L&auml;ngere
+ * Symbole (z.B. <tt>"mod"</tt>) werden in einer HashMap verwaltet.
+ * <pre>
+ *     OperatorRegistry&lt;DoubleOperator&gt; ops = new OperatorRegistry&lt;DoubleOperator&gt;()
+ *         .register("+", DoubleOperator.ADD)
+ *         .register("max", Math::max);
+ *     double x = ops.get("max").calculate(3, 4);
+ * </pre>
+ * Operatoren sollten vor der Benutzung registriert werden; das Suchen darf
+ * danach gleichzeitig aus mehreren Threads erfolgen.
+ *
+ * @param <T> Der Typ der Operatoren, z.B. DoubleOperator.
+ */
+public final class OperatorRegistry<T>
+{
+    private final Object[] ascii = new Object[128]; // Operatoren mit einem Zeichen
+    private final HashMap<String, T> andere = new HashMap<String, T>(); // Laengere Symbole
+    private final ArrayList<String> symbole = new ArrayList<String>(); // Reihenfolge der Registrierung
+
+    /**
+     * Registriert einen Operator. Ein bereits registriertes Symbol wird
+     * &uuml;berschrieben.
+     *
+     * @param symbol Das Symbol (nicht leer, ohne Whitespace).
+     * @param op Der Operator.
+     * @return Dieses Verzeichnis (f&uuml;r verkettete Aufrufe).
+     */
+    public OperatorRegistry<T> register(String symbol, T op)
+    {
+        if (symbol.isEmpty() || op == null) {
+            throw new IllegalArgumentException("Symbol und Operator erforderlich: '" + symbol + "'");
+        }
+        for (int i = 0; i < symbol.length(); i++) {
+            if (Character.isWhitespace(symbol.charAt(i))) {
+                throw new IllegalArgumentException("Symbol mit Leerzeichen: '" + symbol + "'");
+            }
+        }
+
+        if (get(symbol) == null) {
+            symbole.add(symbol);
+        }
+        if (symbol.length() == 1 && symbol.charAt(0) < 128) {
+            ascii[symbol.charAt(0)] = op;
+        } else {
+            andere.put(symbol, op);
+        }
+        return this;
+    }
+
+    /**
+     * Sucht den Operator zu einem Symbol aus einem Zeichen.
+     *
+     * @param c Das Symbol.
+     * @return Der Operator, oder null wenn keiner registriert ist.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(char c)
+    {
+        if (c < 128) {
+            return (T) ascii[c];
+        }
+        return andere.isEmpty() ? null : andere.get(String.valueOf(c));
+    }
+
+    /**
+     * Sucht den Operator zu einem Symbol.
+     *
+     * @param symbol Das Symbol.
+     * @return Der Operator, oder null wenn keiner registriert ist.
+     */
+    public T get(String symbol)
+    {
+        if (symbol.length() == 1) {
+            return get(symbol.charAt(0));
+        }
+        return andere.isEmpty() ? null : andere.get(symbol);
+    }
+
+    /**
+     * @return Alle Symbole in der Reihenfolge der Registrierung.
+     */
+    public List<String> symbols()
+    {
+        return Collections.unmodifiableList(symbole);
+    }
+}
@@ -1,4 +1,6 @@
+import java.math.MathContext;
 import java.util.Scanner;
+import java.util.function.BinaryOperator;
 
 /**
  * Ein Taschenrechner
@@ -7,40 +9,117 @@ import java.util.Scanner;
  */
 public class Rechner
 {
+    // Die Operatoren
+    static final DoubleOperator add = DoubleOperator.ADD;
+    static final DoubleOperator sub = DoubleOperator.SUB;
+    static final DoubleOperator mul = DoubleOperator.MUL;
+    static final DoubleOperator div = DoubleOperator.DIV;
+
+    // Alle Operatoren nach Symbol; weitere koennen hier registriert werden
+    static final OperatorRegistry<DoubleOperator> operatoren = new OperatorRegistry<DoubleOperator>()
+        .register("+", add)
+        .register("-", sub)
+        .register("*", mul)
+        .register("/", div);
+
+    // Exakter Modus: Genauigkeit der Division (Stellen, -Drechner.stellen=...,
+    // bei ungueltigem Wert 34) und hoechstens 10-mal so viele Stellen je Eingabe
+    static final MathContext genauigkeit = new MathContext(stellen(Integer.getInteger("rechner.stellen", 34)));
+    static final int maxStellen = (int) Math.min(Integer.MAX_VALUE, 10L * genauigkeit.getPrecision());
+
+    // Operatoren fuer den exakten Modus
+    static final OperatorRegistry<BinaryOperator<Exakt>> exakteOperatoren =
+        new OperatorRegistry<BinaryOperator<Exakt>>()
+        .register("+", Exakt::add)
+        .register("-", Exakt::subtract)
+        .register("*", Exakt::multiply)
+        .register("/", (x, y) -> x.divide(y, genauigkeit));
+
+    // Bereits uebersetzte Ausdruecke (fuer alle Sitzungen gemeinsam)
+    static final AusdruckCache ausdruecke = new AusdruckCache(1000);
 
     /*
-     * Die main-Methode. Gibt "Hallo Welt!" aus.
+     * Die main-Methode. Startet eine Sitzung in einem Fenster bzw. (ohne
+     * grafische Oberflaeche) auf der Standardein-/ausgabe.
+     *
+     * Mit Argumenten wird eine Datei mit Aufgaben im Stapelbetrieb
+     * berechnet: java Rechner eingabe.txt [ausgabe.txt]
      */
-    public static void main(String[] args)
+    public static void main(String[] args) throws java.io.IOException
     {
-        // Einrichtung
-        float a, b, result = 0;
-        String op;
-        JConsole console = new JConsole();
-        
-
-        BiFunction add = (x, y) -> x + y;
-        BiFunction sub = (x, y) -> x - y;
-        BiFunction mul = (x, y) -> x * y;
-        BiFunction div = (x, y) -> x / y;
-
-       
+        if (args.length > 0) {
+            RechnerStapel.berechne(args[0], args.length > 1 ? args[1] : null);
+            return;
+        }
+        sitzung(Konsole.create());
+    }
 
+    /*
+     * Eine Sitzung des Rechners: Operation und Operanden einlesen, rechnen,
+     * Ergebnis ausgeben - bis die Eingabe endet. Statt einer Operation kann
+     * auch ein Ausdruck eingegeben werden, z.B. 2 * (x + 1); die Werte der
+     * Variablen werden dann einzeln abgefragt. Ein einzelnes Wort (z.B.
+     * "quit") gilt nicht als Ausdruck, sondern als unbekannte Operation.
+     *
+     * Die Eingabe "exakt" schaltet den exakten Modus ein bzw. aus: Die
+     * Operationen rechnen dann mit exakten Zahlen (Exakt) statt mit double.
+     * Ausdruecke werden weiterhin mit double berechnet. Mehrere Sitzungen koennen
+     * gleichzeitig laufen (siehe RechnerServer).
+     */
+    public static void sitzung(Konsole console)
+    {
+        // Einrichtung
+        double a, b, result = 0;
+        DoubleOperator op;
+        String eingabe;
+        boolean exakt = false;
+        String frage = "Welche Operation soll durchgeführt werden ("
+                       + String.join(",", operatoren.symbols()) + " oder Ausdruck)?: ";
         
         while (true) {
             // Eingabe
             do {
-                op = console.readString("Welche Operation soll durchgeführt werden (+,-)?: ");
-            } while(!op.equals("+") && !op.equals("-"));
-            
-            a = console.readInt("Erste Ganzzahl: ");
-            b = console.readInt("Zweite Ganzzahl: ");
+                eingabe = console.readString(frage).trim();
+            } while(eingabe.isEmpty());
+
+            if (eingabe.equals("exakt")) {
+                exakt = !exakt;
+                console.println("Exakter Modus " + (exakt ? "an" : "aus"));
+                continue;
+            }
+            if (exakt && exakteOperatoren.get(eingabe) != null) {
+                rechneExakt(console, exakteOperatoren.get(eingabe));
+                continue;
+            }
+            op = operatoren.get(eingabe);
+
+            if (op == null) {
+                // Ausdruck
+                Ausdruck ausdruck;
+                try {
+                    ausdruck = ausdruecke.get(eingabe);
+                }
+                catch (IllegalArgumentException e) {
+                    console.println(e.getMessage());
+                    continue;
+                }
+                String[] namen = ausdruck.variables();
+                if (namen.length == 1 && namen[0].equals(eingabe)) {
+                    // Ein einzelnes Wort (z.B. "quit") ist keine Rechnung
+                    console.println("Unbekannte Operation: " + eingabe);
+                    continue;
+                }
+                double[] werte = new double[namen.length];
+                for (int i = 0; i < namen.length; i++) {
+                    werte[i] = console.readDouble(namen[i] + " = ");
+                }
+                result = ausdruck.evaluate(werte);
+            } else {
+                a = console.readDouble("Erste Zahl: ");
+                b = console.readDouble("Zweite Zahl: ");
             
-            // Verarbeitung
-            if (op.equals("+")) {
-                result = add.calculate(a, b);
-            } else if (op.equals("-")) {
-                result = sub.calculate(a, b);
+                // Verarbeitung
+                result = op.calculate(a, b);
             }
             
             // Ausgabe
@@ -48,4 +127,39 @@ public class Rechner
         }
     }
 
+    /*
+     * Eine Operation im exakten Modus: Operanden einlesen, rechnen, ausgeben.
+     */
+    private static void rechneExakt(Konsole console, BinaryOperator<Exakt> op)
+    {
+        Exakt a = readExakt(console, "Erste Zahl: ");
+        Exakt b = readExakt(console, "Zweite Zahl: ");
+
+        try {
+            console.println("Ergebnis: " + op.apply(a, b));
+        }
+        catch (ArithmeticException e) {
+            console.println("Fehler: " + e.getMessage());
+        }
+    }
+
+    // Anzahl der Stellen fuer genauigkeit; 0 (unbegrenzt) und negative Werte sind ungueltig
+    private static int stellen(int n)
+    {
+        return n > 0 ? n : 34;
+    }
+
+    // Einlesen einer exakten Zahl (Wiederholung bei ungueltiger Eingabe)
+    private static Exakt readExakt(Konsole console, String prompt)
+    {
+        while (true) {
+            try {
+                return Exakt.valueOf(console.readLine(prompt), maxStellen);
+            }
+            catch (NumberFormatException e) {
+                // nochmal
+            }
+        }
+    }
+
 }
@@ -0,0 +1,114 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse RechnerLast
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Lastgenerator fuer den RechnerServer
+ * ==================================================================
+ */
+import java.io.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Lastgenerator f&uuml;r den RechnerServer: Mehrere Clients schicken
+ * gleichzeitig Rechenaufgaben und messen die Antwortzeiten.
+ * <p>
+ * Aufruf:
+ * <pre>
+ *     java RechnerLast [Sitzungen [Aufgaben je Sitzung [Port]]]
+ * </pre>
+ * Ohne Port wird ein RechnerServer in derselben JVM gestartet.
+ * Ausgegeben werden der Durchsatz (Aufgaben pro Sekunde) sowie Median,
+ * 99%-Quantil und Maximum der Antwortzeit.
+ */
+public class RechnerLast
+{
+    /*
+     * Die main-Methode.
+     */
+    public static void main(String[] args) throws Exception
+    {
+        int sitzungen = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int aufgaben = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        ServerSocket server = null;
+        int port;
+
+        if (args.length > 2) {
+            port = Integer.parseInt(args[2]);
+        } else {
+            server = RechnerServer.open(0);
+            port = server.getLocalPort();
+            ServerSocket s = server;
+            Thread t = new Thread(() -> RechnerServer.serve(s), "RechnerServer");
+            t.setDaemon(true);
+            t.start();
+        }
+
+        long[] zeiten = new long[sitzungen * aufgaben]; // Antwortzeiten in ns
+        ExecutorService clients = Executors.newFixedThreadPool(sitzungen);
+        List<Future<?>> ergebnisse = new ArrayList<Future<?>>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int k = 0; k < sitzungen; k++) {
+            int nr = k;
+            ergebnisse.add(clients.submit(() -> {
+                client(port, start, aufgaben, zeiten, nr * aufgaben);
+                return null;
+            }));
+        }
+
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : ergebnisse) {
+            f.get();
+        }
+        long dauer = System.nanoTime() - t0;
+        clients.shutdown();
+        if (server != null) {
+            server.close();
+        }
+
+        Arrays.sort(zeiten);
+        System.out.printf("%d Sitzungen x %d Aufgaben in %.2f s%n", sitzungen, aufgaben, dauer / 1e9);
+        System.out.printf("Durchsatz: %.0f Aufgaben/s%n", zeiten.length / (dauer / 1e9));
+        System.out.printf("Antwortzeit: Median %.3f ms, 99%% %.3f ms, Max %.3f ms%n",
+                          zeiten[zeiten.length / 2] / 1e6,
+                          zeiten[(int) (zeiten.length * 0.99)] / 1e6,
+                          zeiten[zeiten.length - 1] / 1e6);
+    }
+
+    // Ein Client: schickt die Aufgaben nacheinander und prueft die Ergebnisse
+    private static void client(int port, CountDownLatch start, int aufgaben, long[] zeiten, int index)
+        throws IOException, InterruptedException
+    {
+        try (Socket s = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            s.setTcpNoDelay(true);
+            OutputStream out = s.getOutputStream();
+            BufferedReader in = new BufferedReader(
+                new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+            Random rnd = new Random(index);
+
+            start.await();
+            for (int i = 0; i < aufgaben; i++) {
+                int a = rnd.nextInt(1000);
+                int b = rnd.nextInt(1000);
+                byte[] aufgabe = ("+\n" + a + "\n" + b + "\n").getBytes(StandardCharsets.UTF_8);
+
+                long t = System.nanoTime();
+                out.write(aufgabe);
+                out.flush();
+                String zeile = in.readLine(); // Prompts und Ergebnis
+                zeiten[index + i] = System.nanoTime() - t;
+
+                if (zeile == null || !zeile.endsWith("Ergebnis: " + (double) (a + b))) {
+                    throw new IOException("Unerwartete Antwort: " + zeile);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse RechnerServer
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Viele Rechner-Sitzungen in einer JVM ueber einen lokalen Socket
+ * ==================================================================
+ */
+import java.io.*;
+import java.lang.reflect.*;
+import java.net.*;
+
+/**
+ * Ein Server, der f&uuml;r jede Verbindung eine eigene Sitzung des Rechners
+ * startet. Jede Sitzung l&auml;uft in einem eigenen Thread &uuml;ber eine
+ * TextKonsole auf den Streams des Sockets. Ab Java 21 werden virtuelle
+ * Threads benutzt, so dass auch hunderte Sitzungen nur wenige
+ * Betriebssystem-Threads belegen.
+ * <p>
+ * Der Server nimmt nur Verbindungen von diesem Rechner an (localhost):
+ * <pre>
+ *     java RechnerServer 4711
+ *     nc localhost 4711
+ * </pre>
+ * Zum Messen des Durchsatzes siehe RechnerLast.
+ */
+public class RechnerServer
+{
+    static final int STD_PORT = 4711;
+
+    // Thread.startVirtualThread() ab Java 21, sonst null
+    private static final Method startVirtualThread = findStartVirtualThread();
+
+    /*
+     * Die main-Methode. Optionales Argument: die Portnummer.
+     */
+    public static void main(String[] args) throws IOException
+    {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : STD_PORT;
+
+        try (ServerSocket server = open(port)) {
+            System.out.println("RechnerServer auf " + server.getLocalSocketAddress()
+                               + (startVirtualThread != null ? " (virtuelle Threads)" : ""));
+            serve(server);
+        }
+    }
+
+    /**
+     * &Ouml;ffnet einen ServerSocket, der nur lokale Verbindungen annimmt.
+     *
+     * @param port Die Portnummer (0: beliebiger freier Port).
+     * @return Der ServerSocket.
+     */
+    static ServerSocket open(int port) throws IOException
+    {
+        return new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * Nimmt Verbindungen an, bis der ServerSocket geschlossen wird, und
+     * startet f&uuml;r jede Verbindung eine Sitzung.
+     *
+     * @param server Der ServerSocket.
+     */
+    static void serve(ServerSocket server)
+    {
+        while (!server.isClosed()) {
+            Socket s;
+            try {
+                s = server.accept();
+            }
+            catch (IOException e) {
+                break; // ServerSocket geschlossen
+            }
+            start(() -> session(s));
+        }
+    }
+
+    // Eine Sitzung: Rechner ueber die Streams des Sockets
+    private static void session(Socket s)
+    {
+        try (Socket socket = s) {
+            socket.setTcpNoDelay(true);
+            Rechner.sitzung(new TextKonsole(socket.getInputStream(), socket.getOutputStream()));
+        }
+        catch (IOException | UncheckedIOException e) {
+            // Verbindung beendet
+        }
+    }
+
+    // Startet einen virtuellen Thread, wenn moeglich, sonst einen normalen
+    private static void start(Runnable r)
+    {
+        if (startVirtualThread != null) {
+            try {
+                startVirtualThread.invoke(null, r);
+                return;
+            }
+            catch (ReflectiveOperationException e) { }
+        }
+        Thread t = new Thread(r, "Rechner-Sitzung");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private static Method findStartVirtualThread()
+    {
+        try {
+            return Thread.class.getMethod("startVirtualThread", Runnable.class);
+        }
+        catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse RechnerStapel
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Stapelbetrieb: Aufgaben aus einer Datei berechnen
+ * 2026-10-18 Rechnen mit double (DoubleOperator) statt BiFunction
+ * 2026-10-18 Operatoren aus Rechner.operatoren (OperatorRegistry)
+ * 2026-10-18 Zeilen mit weiteren Token (z.B. "+ 3 abc 4") ergeben Fehler
+ * 2026-10-18 Ganzzahlige Ergebnisse ohne Double.toString() schreiben
+ * ==================================================================
+ */
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+
+/**
+ * Stapelbetrieb des Rechners: Eine Textdatei mit einer Aufgabe pro Zeile
+ * wird berechnet, die Ergebnisse werden (eines pro Zeile, in derselben
+ * Reihenfolge) in eine Ausgabedatei geschrieben.
+ * <p>
+ * Eine Aufgabe besteht aus Operator und zwei Zahlen, getrennt durch
+ * Leerzeichen oder Tabulatoren:
+ * <pre>
+ *     + 3 4
+ *     * 2.5 8
+ * </pre>
+ * Operatoren sind alle Symbole aus einem Zeichen in Rechner.operatoren
+ * (<tt>+ - * /</tt>). Leere Zeilen werden &uuml;berlesen.
+ * Zeilen mit unbekanntem Operator oder nicht genau zwei Zahlen hinter dem
+ * Operator (auch weitere Token wie in <tt>+ 3 abc 4</tt>) ergeben die
+ * Ausgabezeile <tt>Fehler</tt>. Gerechnet wird mit denselben Operatoren wie
+ * im Dialog, die Ergebnisse erscheinen im selben Format.
+ * <p>
+ * Die Eingabe wird &uuml;ber <tt>FileChannel.map()</tt> gelesen, die Ausgabe
+ * in einem Puffer gesammelt und blockweise geschrieben. Die Dateien
+ * d&uuml;rfen daher beliebig gro&szlig; sein.
+ */
+final class RechnerStapel
+{
+    private static final byte[] FEHLER = { 'F', 'e', 'h', 'l', 'e', 'r' };
+
+    private final NumberScanner scanner = new NumberScanner(" \t");
+    private final WritableByteChannel out;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(1 << 16);
+    private long aufgaben = 0; // Anzahl berechneter Zeilen
+
+    private RechnerStapel(WritableByteChannel out)
+    {
+        this.out = out;
+    }
+
+    /**
+     * Berechnet alle Aufgaben einer Datei.
+     *
+     * @param eingabe Name der Datei mit den Aufgaben.
+     * @param ausgabe Name der Ergebnisdatei, oder null f&uuml;r die
+     *                Standardausgabe.
+     * @return Die Anzahl der Aufgaben (Ausgabezeilen).
+     */
+    static long berechne(String eingabe, String ausgabe) throws IOException
+    {
+        WritableByteChannel ch = ausgabe == null
+            ? new FileOutputStream(FileDescriptor.out).getChannel()
+            : FileChannel.open(Paths.get(ausgabe), StandardOpenOption.CREATE,
+                               StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            RechnerStapel stapel = new RechnerStapel(ch);
+            try {
+                ArrayLoader.mapLines(eingabe, stapel::zeile);
+            }
+            catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            stapel.flush();
+            return stapel.aufgaben;
+        }
+        finally {
+            if (ausgabe != null) {
+                ch.close();
+            }
+        }
+    }
+
+    // Berechnet eine Zeile (LineHandler)
+    private boolean zeile(char[] b, int len)
+    {
+        int i = 0;
+
+        while (i < len && (b[i] == ' ' || b[i] == '\t')) {
+            i++;
+        }
+        if (i == len) {
+            return true; // Leere Zeile
+        }
+
+        try {
+            DoubleOperator op = Rechner.operatoren.get(b[i]);
+            if (op == null || i + 1 >= len || (b[i + 1] != ' ' && b[i + 1] != '\t')
+                || scanner.scan(b, i + 1, len, 3) != 2 || scanner.tokens() != 2) {
+                schreibe(FEHLER);
+            } else {
+                double[] v = scanner.values();
+                schreibe(op.calculate(v[0], v[1]));
+            }
+            aufgaben++;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return true;
+    }
+
+    // Ganzzahlige Werte unter 10^7 schreibt Double.toString() als "123.0"
+    private static final double GANZ_MAX = 1e7;
+    private final byte[] ziffern = new byte[8];
+
+    /*
+     * Ein Ergebnis im Format von Double.toString() in den Puffer schreiben.
+     * Ganzzahlige Werte (der haeufigste Fall) werden direkt geschrieben,
+     * alle anderen mit Double.toString().
+     */
+    private void schreibe(double d) throws IOException
+    {
+        if (!(Math.abs(d) < GANZ_MAX) || d != Math.rint(d)
+            || Double.doubleToRawLongBits(d) == Long.MIN_VALUE) { // -0.0
+            schreibe(Double.toString(d));
+            return;
+        }
+        if (buf.remaining() < 12) {
+            flush();
+        }
+        int n = (int) d;
+        if (n < 0) {
+            buf.put((byte) '-');
+            n = -n;
+        }
+        int k = ziffern.length;
+        do {
+            ziffern[--k] = (byte) ('0' + n % 10);
+            n /= 10;
+        } while (n > 0);
+        buf.put(ziffern, k, ziffern.length - k).put((byte) '.').put((byte) '0').put((byte) '\n');
+    }
+
+    // Eine Ergebniszeile (nur ASCII-Zeichen) in den Puffer schreiben
+    private void schreibe(String s) throws IOException
+    {
+        if (buf.remaining() < s.length() + 1) {
+            flush();
+        }
+        for (int k = 0; k < s.length(); k++) {
+            buf.put((byte) s.charAt(k));
+        }
+        buf.put((byte) '\n');
+    }
+
+    private void schreibe(byte[] s) throws IOException
+    {
+        if (buf.remaining() < s.length + 1) {
+            flush();
+        }
+        buf.put(s).put((byte) '\n');
+    }
+
+    private void flush() throws IOException
+    {
+        buf.flip();
+        while (buf.hasRemaining()) {
+            out.write(buf);
+        }
+        buf.clear();
+    }
+}
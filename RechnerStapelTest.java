@@ -0,0 +1,75 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse RechnerStapelTest
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Regressionstest Stapelbetrieb: Zeilen mit weiteren Token
+ * ==================================================================
+ */
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Pr&uuml;ft den Stapelbetrieb (RechnerStapel) mit einigen Aufgaben, deren
+ * Ergebnis feststeht. Aufruf: <tt>java RechnerStapelTest</tt>; bei einem
+ * Fehler endet das Programm mit dem Status 1.
+ */
+final class RechnerStapelTest
+{
+    // Aufgabe und erwartete Ausgabezeile
+    private static final String[][] FAELLE = {
+        { "+ 3 4",       "7.0" },
+        { "* 2.5 8",     "20.0" },
+        { "-\t1\t0.5",   "0.5" },
+        { "+ 3 abc 4",   "Fehler" }, // Token zwischen den Zahlen
+        { "+ 3 4 abc",   "Fehler" }, // Token hinter den Zahlen
+        { "+ abc 3 4",   "Fehler" }, // Token vor den Zahlen
+        { "+ 3 4 5",     "Fehler" }, // Drei Zahlen
+        { "+ 3",         "Fehler" }, // Eine Zahl
+        { "% 3 4",       "Fehler" }, // Unbekannter Operator
+        { "+3 4",        "Fehler" }, // Operator ohne Trennzeichen
+    };
+
+    public static void main(String[] args) throws IOException
+    {
+        Path eingabe = Files.createTempFile("stapel", ".txt");
+        Path ausgabe = Files.createTempFile("stapel", ".out");
+        try {
+            List<String> zeilen = new ArrayList<String>();
+            for (String[] f : FAELLE) {
+                zeilen.add(f[0]);
+            }
+            Files.write(eingabe, zeilen, StandardCharsets.US_ASCII);
+
+            RechnerStapel.berechne(eingabe.toString(), ausgabe.toString());
+
+            List<String> ergebnis = Files.readAllLines(ausgabe, StandardCharsets.US_ASCII);
+            int fehler = 0;
+            for (int i = 0; i < FAELLE.length; i++) {
+                String ist = i < ergebnis.size() ? ergebnis.get(i) : "(fehlt)";
+                if (!FAELLE[i][1].equals(ist)) {
+                    System.out.println("FEHLER: '" + FAELLE[i][0] + "' ergibt '" + ist
+                                       + "', erwartet '" + FAELLE[i][1] + "'");
+                    fehler++;
+                }
+            }
+            if (ergebnis.size() != FAELLE.length) {
+                System.out.println("FEHLER: " + ergebnis.size() + " Ausgabezeilen, erwartet "
+                                   + FAELLE.length);
+                fehler++;
+            }
+            System.out.println(fehler == 0 ? "OK: " + FAELLE.length + " Aufgaben" : fehler + " Fehler");
+            if (fehler > 0) {
+                System.exit(1);
+            }
+        }
+        finally {
+            Files.deleteIfExists(eingabe);
+            Files.deleteIfExists(ausgabe);
+        }
+    }
+}
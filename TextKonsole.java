@@ -0,0 +1,256 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse TextKonsole
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Konsole ohne grafische Oberflaeche (Standardein-/ausgabe)
+ * 2026-10-18 neue Methode: readLines()
+ * 2026-10-18 Konstruktor fuer beliebige Streams (z.B. Socket); Puffer und
+ *            Sperre (ReentrantLock) statt Reader/Writer mit synchronized,
+ *            damit viele Sitzungen auf virtuellen Threads warten koennen
+ * ==================================================================
+ */
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.locks.*;
+
+/**
+ * Eine Konsole, die von der Standardeingabe liest und auf die
+ * Standardausgabe schreibt. Es wird kein Fenster ge&ouml;ffnet und weder AWT
+ * noch Swing geladen. Damit eignet sich die Klasse f&uuml;r Rechner ohne
+ * grafische Oberfl&auml;che und f&uuml;r die Stapelverarbeitung, z.B.
+ * <pre>
+ *     java -Dkonsole=text Rechner &lt; eingaben.txt &gt; ergebnisse.txt
+ * </pre>
+ * Die Ausgaben werden gepuffert und sp&auml;testens vor jedem Einlesen, bei
+ * <tt>exit()</tt> und beim Programmende geschrieben. Ist die Eingabe zu Ende,
+ * wird das Programm wie beim Schlie&szlig;en der JConsole beendet.
+ * <p>
+ * Mit dem Konstruktor <tt>TextKonsole(InputStream, OutputStream)</tt> kann
+ * eine Konsole &uuml;ber beliebige Streams betrieben werden, z.B. &uuml;ber
+ * die Streams eines Sockets. Ein- und Ausgabe verwenden keine
+ * <tt>synchronized</tt>-Bl&ouml;cke, sondern eine <tt>ReentrantLock</tt>. Ein
+ * virtueller Thread, der auf eine Eingabe wartet, blockiert daher nicht
+ * seinen Tr&auml;ger-Thread. Am Ende der Eingabe wird hier nicht das
+ * Programm beendet, sondern eine <tt>UncheckedIOException</tt> (mit einer
+ * <tt>EOFException</tt> als Ursache) geworfen.
+ */
+public class TextKonsole implements Konsole
+{
+    private final InputStream in;
+    private final OutputStream out;
+    private final Charset charset;
+    private final boolean exitAtEnd; // Programmende statt Exception am Ende der Eingabe
+    private final ReentrantLock outLock = new ReentrantLock();
+    private volatile boolean closed = false;
+
+    private byte[] inBuf = new byte[8192]; // Gelesene, noch nicht verarbeitete Bytes
+    private int inPos = 0, inLen = 0;
+    private boolean eof = false;
+    private final byte[] outBuf = new byte[1 << 16]; // Noch nicht geschriebene Ausgaben
+    private int outLen = 0;
+
+    /**
+     * Erzeugt eine Konsole &uuml;ber System.in und System.out.
+     */
+    public TextKonsole()
+    {
+        this(System.in, System.out, Charset.defaultCharset(), true);
+
+        // Gepufferte Ausgaben auch bei System.exit() nicht verlieren
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush));
+    }
+
+    /**
+     * Erzeugt eine Konsole &uuml;ber beliebige Streams (Zeichensatz UTF-8).
+     *
+     * @param in Die Eingabe.
+     * @param out Die Ausgabe.
+     */
+    public TextKonsole(InputStream in, OutputStream out)
+    {
+        this(in, out, StandardCharsets.UTF_8, false);
+    }
+
+    private TextKonsole(InputStream in, OutputStream out, Charset charset, boolean exitAtEnd)
+    {
+        this.in = in;
+        this.out = out;
+        this.charset = charset;
+        this.exitAtEnd = exitAtEnd;
+    }
+
+    /**
+    * Gibt einen String aus (gepuffert).
+    * @param msg Der Text, der ausgegeben werden soll.
+    */
+    public void print(String msg)
+    {
+        byte[] b = msg.getBytes(charset);
+
+        outLock.lock();
+        try {
+            if (outLen + b.length > outBuf.length) {
+                writeOut();
+            }
+            if (b.length > outBuf.length) {
+                out.write(b);
+            } else {
+                System.arraycopy(b, 0, outBuf, outLen, b.length);
+                outLen += b.length;
+            }
+        }
+        catch (IOException e) { } // wie System.out: Fehler ignorieren
+        finally {
+            outLock.unlock();
+        }
+    }
+
+    /**
+     * Schreibt alle gepufferten Ausgaben.
+     */
+    public void flush()
+    {
+        outLock.lock();
+        try {
+            writeOut();
+            out.flush();
+        }
+        catch (IOException e) { }
+        finally {
+            outLock.unlock();
+        }
+    }
+
+    // Nur mit outLock aufrufen
+    private void writeOut() throws IOException
+    {
+        if (outLen > 0) {
+            int n = outLen;
+            outLen = 0;
+            out.write(outBuf, 0, n);
+        }
+    }
+
+    /**
+    * Eine Textkonsole kann nicht gel&ouml;scht werden; es werden nur die
+    * gepufferten Ausgaben geschrieben.
+    */
+    public void clear()
+    {
+        flush();
+    }
+
+    /**
+     * Ausgabe eines Textes und Einlesen einer Zeile. Am Ende der Eingabe
+     * wird das Programm beendet bzw. (bei einer Konsole &uuml;ber Streams)
+     * eine UncheckedIOException geworfen.
+     * @param prompt auszugebender Text
+     * @return die eingegebene Zeile als String
+     */
+    public String readLine(String prompt)
+    {
+        String answer = null;
+
+        print(prompt);
+        flush();
+        if (!closed) {
+            try {
+                answer = nextLine(true);
+            }
+            catch (IOException e) { }
+        }
+
+        if (answer == null) {
+            if (exitAtEnd) {
+                System.exit(0); // Ende der Eingabe: wie Schliessen des Fensters
+            }
+            throw new UncheckedIOException(new EOFException("Ende der Eingabe"));
+        }
+        return answer;
+    }
+
+    /**
+     * Ausgabe eines Textes und Einlesen einer Zeile sowie aller weiteren
+     * Zeilen, die ohne Warten gelesen werden k&ouml;nnen.
+     * @param prompt auszugebender Text
+     * @return die eingegebenen Zeilen (mindestens eine)
+     */
+    public String[] readLines(String prompt)
+    {
+        ArrayList<String> zeilen = new ArrayList<String>();
+
+        zeilen.add(readLine(prompt));
+        try {
+            String zeile;
+            while (!closed && (zeile = nextLine(false)) != null) {
+                zeilen.add(zeile);
+            }
+        }
+        catch (IOException e) { }
+        return zeilen.toArray(new String[zeilen.size()]);
+    }
+
+    /**
+     * Beenden der Konsole. Weitere Eingaben beenden das Programm.
+     */
+    public void exit()
+    {
+        closed = true;
+        flush();
+    }
+
+    /*
+     * Liefert die naechste Zeile ohne Zeilenende (\n oder \r\n). Ohne Warten
+     * wird nur gelesen, solange der Stream Bytes ohne Blockieren liefern
+     * kann; fehlt dann noch das Zeilenende, ist das Ergebnis null. Am Ende
+     * der Eingabe wird der Rest als letzte Zeile bzw. null geliefert.
+     * Der Zeichensatz muss ASCII-kompatibel sein (z.B. UTF-8, ISO-8859-1).
+     */
+    private String nextLine(boolean warten) throws IOException
+    {
+        int i = inPos;
+
+        while (true) {
+            for (; i < inLen; i++) {
+                if (inBuf[i] == '\n') {
+                    int ende = i > inPos && inBuf[i - 1] == '\r' ? i - 1 : i;
+                    String zeile = new String(inBuf, inPos, ende - inPos, charset);
+                    inPos = i + 1;
+                    return zeile;
+                }
+            }
+            if (eof) {
+                if (inPos == inLen) {
+                    return null;
+                }
+                String zeile = new String(inBuf, inPos, inLen - inPos, charset);
+                inPos = inLen;
+                return zeile;
+            }
+            if (!warten && in.available() <= 0) {
+                return null;
+            }
+
+            // Rest an den Anfang schieben und weitere Bytes lesen
+            if (inPos > 0) {
+                System.arraycopy(inBuf, inPos, inBuf, 0, inLen - inPos);
+                inLen -= inPos;
+                i -= inPos;
+                inPos = 0;
+            }
+            if (inLen == inBuf.length) {
+                inBuf = Arrays.copyOf(inBuf, 2 * inBuf.length);
+            }
+            int n = in.read(inBuf, inLen, inBuf.length - inLen);
+            if (n < 0) {
+                eof = true;
+            } else {
+                inLen += n;
+            }
+        }
+    }
+}
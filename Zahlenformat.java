@@ -0,0 +1,234 @@
+
+// vi: ts=4 sw=4 et
+/*
+ * Klasse Zahlenformat
+ *
+ * ==================================================================
+ * History:
+ * 2026-10-18 Formatierte Ausgabe ohne String.format() (fuer Konsole)
+ * 2026-10-18 appendFixed(): negative Laenge wie "%-8.2f" (linksbuendig)
+ * ==================================================================
+ */
+import java.text.*;
+import java.util.*;
+
+/**
+ * Formatiert Zahlen mit fester Breite und fester Anzahl von
+ * Nachkommastellen direkt in einen StringBuilder.
+ * <p>
+ * Das Ergebnis von <tt>appendFixed(sb, d, len, prec)</tt> ist dasselbe wie
+ * <tt>String.format("%len.precf", d)</tt> (mit dem Dezimaltrenner der
+ * eingestellten Sprache). F&uuml;r &uuml;bliche Werte wird dabei weder ein
+ * Formatter noch ein String erzeugt: die Zahl wird mit 10^prec
+ * multipliziert, gerundet und als ganze Zahl geschrieben. Nur wenn die
+ * Rundung so nicht sicher entschieden werden kann (Wert sehr nahe an
+ * ...5, sehr gro&szlig;e Werte, viele Nachkommastellen), wird String.format()
+ * mit einer zwischengespeicherten Formatangabe benutzt.
+ * <p>
+ * <tt>puffer()</tt> liefert einen StringBuilder, der pro Thread
+ * wiederverwendet wird.
+ */
+final class Zahlenformat
+{
+    // Zehnerpotenzen fuer den schnellen Weg (alle exakt als double)
+    private static final long[] POTENZ = {
+        1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+        100000000L, 1000000000L, 10000000000L, 100000000000L,
+        1000000000000L, 10000000000000L, 100000000000000L, 1000000000000000L
+    };
+
+    // Bis zu diesem Betrag von d * 10^prec ist der Rundungsfehler der
+    // Multiplikation (und der Abstand zur kuerzesten Dezimaldarstellung,
+    // nach der String.format() rundet) kleiner als ABSTAND.
+    private static final double GRENZE = 1e9;
+    private static final double ABSTAND = 1e-6;
+
+    // Zwischengespeicherte Formatangaben "%len.precf" fuer den langsamen Weg
+    private static final int MAX_LEN = 64, MAX_PREC = 32;
+    private static final String[][] SPECS = new String[MAX_LEN][MAX_PREC];
+
+    // Wiederverwendeter Puffer pro Thread; groessere Puffer werden nicht behalten
+    private static final int MAX_PUFFER = 1 << 16;
+    private static final ThreadLocal<StringBuilder> PUFFER =
+        ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private static volatile Symbole symbole = new Symbole(null, '.');
+
+    private Zahlenformat() { }
+
+    /**
+     * @return Ein leerer StringBuilder, der im aktuellen Thread
+     *         wiederverwendet wird.
+     */
+    static StringBuilder puffer()
+    {
+        StringBuilder sb = PUFFER.get();
+        if (sb.capacity() > MAX_PUFFER) {
+            sb = new StringBuilder(256);
+            PUFFER.set(sb);
+        }
+        sb.setLength(0);
+        return sb;
+    }
+
+    /**
+     * H&auml;ngt einen Text rechtsb&uuml;ndig in der angegebenen L&auml;nge
+     * an (f&uuml;hrende Leerzeichen). L&auml;ngere Texte werden nicht gek&uuml;rzt.
+     *
+     * @param sb Der Puffer.
+     * @param s Der Text.
+     * @param len Die L&auml;nge der Ausgabe.
+     * @return sb
+     */
+    static StringBuilder appendPadded(StringBuilder sb, CharSequence s, int len)
+    {
+        leerzeichen(sb, len - s.length());
+        return sb.append(s);
+    }
+
+    /**
+     * H&auml;ngt eine Ganzzahl rechtsb&uuml;ndig in der angegebenen
+     * L&auml;nge an.
+     *
+     * @param sb Der Puffer.
+     * @param l Die Zahl.
+     * @param len Die L&auml;nge der Ausgabe.
+     * @return sb
+     */
+    static StringBuilder appendPadded(StringBuilder sb, long l, int len)
+    {
+        leerzeichen(sb, len - stellen(l));
+        return sb.append(l);
+    }
+
+    /**
+     * H&auml;ngt eine Gleitkommazahl mit der angegebenen L&auml;nge und Anzahl
+     * von Nachkommastellen an, wie <tt>String.format("%len.precf", d)</tt>.
+     * Eine negative L&auml;nge ergibt wie <tt>"%-8.2f"</tt> eine
+     * linksb&uuml;ndige Ausgabe. NaN und Infinity werden wie bei
+     * <tt>"" + d</tt> ausgegeben.
+     *
+     * @param sb Der Puffer.
+     * @param d Die Zahl.
+     * @param len Die L&auml;nge der Ausgabe (negativ: linksb&uuml;ndig).
+     * @param prec Die Anzahl der Nachkommastellen.
+     * @return sb
+     */
+    static StringBuilder appendFixed(StringBuilder sb, double d, int len, int prec)
+    {
+        if (Double.isNaN(d) || Double.isInfinite(d)) {
+            return appendPadded(sb, Double.toString(d), len);
+        }
+
+        if (prec >= 0 && prec < POTENZ.length) {
+            double wert = Math.abs(d) * POTENZ[prec];
+            if (wert < GRENZE) {
+                double ganz = Math.floor(wert);
+                double rest = wert - ganz; // exakt, da wert < 2^52
+                char trenner = dezimaltrenner();
+                if (Math.abs(rest - 0.5) > ABSTAND && trenner != 0) {
+                    long n = (long) ganz + (rest > 0.5 ? 1 : 0); // halb aufrunden
+                    long vorkomma = n / POTENZ[prec];
+                    long nachkomma = n % POTENZ[prec];
+                    // -0.0 und kleine negative Werte ergeben wie bei
+                    // String.format() "-0.00"
+                    boolean negativ = Double.doubleToRawLongBits(d) < 0;
+
+                    int breite = (negativ ? 1 : 0) + stellen(vorkomma)
+                        + (prec > 0 ? prec + 1 : 0);
+                    if (len > 0) {
+                        leerzeichen(sb, len - breite);
+                    }
+                    if (negativ) {
+                        sb.append('-');
+                    }
+                    sb.append(vorkomma);
+                    if (prec > 0) {
+                        sb.append(trenner);
+                        for (int i = stellen(nachkomma); i < prec; i++) {
+                            sb.append('0');
+                        }
+                        sb.append(nachkomma);
+                    }
+                    if (len < 0) {
+                        leerzeichen(sb, -len - breite);
+                    }
+                    return sb;
+                }
+            }
+        }
+        return sb.append(String.format(spec(len, prec), d));
+    }
+
+    /*
+     * Liefert die Formatangabe "%len.precf" (bei negativer Laenge "%-8.2f",
+     * bei 0 "%.precf"), fuer kleine Werte aus dem Zwischenspeicher.
+     * Wettlaeufe sind harmlos: schlimmstenfalls wird dieselbe Angabe
+     * zweimal erzeugt.
+     */
+    static String spec(int len, int prec)
+    {
+        if (len < 1 || len >= MAX_LEN || prec < 0 || prec >= MAX_PREC) {
+            return len == 0 ? "%." + prec + "f" : "%" + len + "." + prec + "f";
+        }
+        String s = SPECS[len][prec];
+        if (s == null) {
+            s = "%" + len + "." + prec + "f";
+            SPECS[len][prec] = s;
+        }
+        return s;
+    }
+
+    /*
+     * Dezimaltrenner der Sprache, die String.format() benutzt. 0, wenn die
+     * Sprache andere Ziffern als '0'-'9' verwendet (dann nur String.format()).
+     */
+    private static char dezimaltrenner()
+    {
+        Locale l = Locale.getDefault(Locale.Category.FORMAT);
+        Symbole s = symbole;
+        if (s.locale != l) {
+            DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance(l);
+            s = new Symbole(l, dfs.getZeroDigit() == '0' ? dfs.getDecimalSeparator() : 0);
+            symbole = s;
+        }
+        return s.trenner;
+    }
+
+    private static void leerzeichen(StringBuilder sb, int n)
+    {
+        for (int i = 0; i < n; i++) {
+            sb.append(' ');
+        }
+    }
+
+    /*
+     * Anzahl der Zeichen von Long.toString(l).
+     */
+    private static int stellen(long l)
+    {
+        int n = 1;
+        if (l < 0) {
+            n++;
+        } else {
+            l = -l; // im negativen Bereich rechnen, wegen Long.MIN_VALUE
+        }
+        while (l <= -10) {
+            l /= 10;
+            n++;
+        }
+        return n;
+    }
+
+    private static final class Symbole
+    {
+        final Locale locale;
+        final char trenner;
+
+        Symbole(Locale locale, char trenner)
+        {
+            this.locale = locale;
+            this.trenner = trenner;
+        }
+    }
+}